@@ -0,0 +1,18 @@
+-- One-off migration: rewrites user emails stored before normalisation to LOWER(TRIM(email)).
+-- While addresses that differ only in case remain, the application refuses to start: the unique index
+-- ux_users_email_normalized from schema-<platform>.sql cannot be created. This script never runs on boot.
+--
+-- Review who gets renamed first and agree it with the account owners:
+--   SELECT LOWER(TRIM(email)) AS address, array_agg(id ORDER BY id) AS ids
+--   FROM users GROUP BY LOWER(TRIM(email)) HAVING COUNT(*) > 1;
+--
+-- Run as a single transaction with the application stopped:
+--   psql -v ON_ERROR_STOP=1 --single-transaction -f db/manual/2026-10-normalize-user-emails.sql
+--
+-- The oldest holder of an address keeps it, lowercased; later duplicates get a unique
+-- duplicate-<id>.<address> alias. Every rewritten row gets a version bump, so its ETag changes.
+UPDATE users SET email = 'duplicate-' || id || '.' || LOWER(TRIM(email)), version = version + 1
+WHERE EXISTS (SELECT 1 FROM users older
+              WHERE LOWER(TRIM(older.email)) = LOWER(TRIM(users.email)) AND older.id < users.id);
+
+UPDATE users SET email = LOWER(TRIM(email)), version = version + 1 WHERE email <> LOWER(TRIM(email));
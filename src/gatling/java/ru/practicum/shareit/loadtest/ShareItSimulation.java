@@ -0,0 +1,152 @@
+package ru.practicum.shareit.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Смешанная нагрузка ShareIt: поиск, волны бронирований с подтверждением и кабинет владельца.
+ * Перед нагрузкой один пользователь создаёт владельцев, вещи и арендаторов через REST API.
+ * Параметры: -Dloadtest.baseUrl, -Dloadtest.duration (с), -Dloadtest.rate (польз./с на сценарий),
+ * -Dloadtest.owners, -Dloadtest.itemsPerOwner, -Dloadtest.bookers, -Dloadtest.runId (суффикс email,
+ * по умолчанию от времени запуска: повторный прогон против той же базы не упирается в занятые адреса).
+ */
+public class ShareItSimulation extends Simulation {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] WORDS = {"дрель", "пила", "отвёртка", "лестница", "палатка", "велосипед",
+            "перфоратор", "шуруповёрт", "рюкзак", "лодка"};
+
+    private static final String BASE_URL = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+    private static final int DURATION = Integer.getInteger("loadtest.duration", 60);
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "10"));
+    private static final int OWNERS = Integer.getInteger("loadtest.owners", 50);
+    private static final int ITEMS_PER_OWNER = Integer.getInteger("loadtest.itemsPerOwner", 20);
+    private static final int BOOKERS = Integer.getInteger("loadtest.bookers", 200);
+    private static final String RUN_ID = System.getProperty("loadtest.runId",
+            Long.toString(System.currentTimeMillis(), Character.MAX_RADIX));
+
+    private static final List<long[]> ITEMS = new CopyOnWriteArrayList<>();
+    private static final List<Long> BOOKER_IDS = new CopyOnWriteArrayList<>();
+
+    private final HttpProtocolBuilder protocol = http.baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    private final ChainBuilder createOwnerWithItems = exec(
+            http("seed: create owner")
+                    .post("/users")
+                    .body(StringBody("{\"name\":\"owner-#{ownerIdx}\","
+                            + "\"email\":\"owner-#{ownerIdx}-" + RUN_ID + "@load.test\"}"))
+                    .check(status().in(200, 201), jmesPath("id").ofLong().saveAs("ownerId")))
+            .repeat(ITEMS_PER_OWNER, "itemIdx").on(
+                    exec(session -> session.set("word", WORDS[session.getInt("itemIdx") % WORDS.length]))
+                            .exec(http("seed: create item")
+                                    .post("/items")
+                                    .header(USER_HEADER, "#{ownerId}")
+                                    .body(StringBody("{\"name\":\"#{word} #{ownerIdx}-#{itemIdx}\","
+                                            + "\"description\":\"Сдаю #{word}\",\"available\":true}"))
+                                    .check(status().in(200, 201), jmesPath("id").ofLong().saveAs("itemId")))
+                            .exec(session -> {
+                                ITEMS.add(new long[]{session.getLong("itemId"), session.getLong("ownerId")});
+                                return session;
+                            }));
+
+    private final ScenarioBuilder seed = scenario("seed")
+            .repeat(OWNERS, "ownerIdx").on(createOwnerWithItems)
+            .repeat(BOOKERS, "bookerIdx").on(
+                    exec(http("seed: create booker")
+                            .post("/users")
+                            .body(StringBody("{\"name\":\"booker-#{bookerIdx}\","
+                                    + "\"email\":\"booker-#{bookerIdx}-" + RUN_ID + "@load.test\"}"))
+                            .check(status().in(200, 201), jmesPath("id").ofLong().saveAs("bookerId")))
+                            .exec(session -> {
+                                BOOKER_IDS.add(session.getLong("bookerId"));
+                                return session;
+                            }));
+
+    private final ScenarioBuilder browse = scenario("search browsing")
+            .feed(randomParticipants())
+            .exec(http("GET /items/search")
+                    .get("/items/search")
+                    .queryParam("text", "#{word}")
+                    .check(status().is(200)))
+            .pause(Duration.ofMillis(100), Duration.ofMillis(500))
+            .exec(http("GET /items/{id}")
+                    .get("/items/#{itemId}")
+                    .header(USER_HEADER, "#{bookerId}")
+                    .check(status().is(200)));
+
+    private final ScenarioBuilder bookingStorm = scenario("booking storm")
+            .feed(randomParticipants())
+            .exec(http("POST /bookings")
+                    .post("/bookings")
+                    .header(USER_HEADER, "#{bookerId}")
+                    .body(StringBody("{\"itemId\":#{itemId},\"start\":\"#{start}\",\"end\":\"#{end}\"}"))
+                    .check(status().in(200, 201), jmesPath("id").ofLong().saveAs("bookingId")))
+            .exec(http("PATCH /bookings/{id}")
+                    .patch("/bookings/#{bookingId}")
+                    .queryParam("approved", "#{approved}")
+                    .header(USER_HEADER, "#{ownerId}")
+                    .check(status().is(200)));
+
+    private final ScenarioBuilder ownerDashboard = scenario("owner dashboard")
+            .feed(randomParticipants())
+            .exec(http("GET /items")
+                    .get("/items")
+                    .header(USER_HEADER, "#{ownerId}")
+                    .check(status().is(200)))
+            .exec(http("GET /bookings/owner")
+                    .get("/bookings/owner")
+                    .header(USER_HEADER, "#{ownerId}")
+                    .check(status().is(200)))
+            .exec(http("GET /bookings")
+                    .get("/bookings")
+                    .header(USER_HEADER, "#{bookerId}")
+                    .check(status().is(200)));
+
+    {
+        setUp(seed.injectOpen(atOnceUsers(1)).andThen(
+                browse.injectOpen(constantUsersPerSec(RATE * 3).during(DURATION)),
+                bookingStorm.injectOpen(constantUsersPerSec(RATE).during(DURATION)),
+                ownerDashboard.injectOpen(constantUsersPerSec(RATE).during(DURATION))))
+                .protocols(protocol)
+                .assertions(global().failedRequests().percent().lt(1.0));
+    }
+
+    /**
+     * Популярные вещи выбираются чаще: индекс берётся как квадрат равномерной величины.
+     */
+    private static Iterator<Map<String, Object>> randomParticipants() {
+        return Stream.generate(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double skew = random.nextDouble();
+            long[] item = ITEMS.get((int) (skew * skew * ITEMS.size()));
+            LocalDateTime start = LocalDateTime.now().plusDays(random.nextInt(1, 60))
+                    .truncatedTo(ChronoUnit.SECONDS);
+            Map<String, Object> record = Map.of(
+                    "itemId", item[0],
+                    "ownerId", item[1],
+                    "bookerId", BOOKER_IDS.get(random.nextInt(BOOKER_IDS.size())),
+                    "word", WORDS[random.nextInt(WORDS.length)],
+                    "start", start.toString(),
+                    "end", start.plusDays(random.nextInt(1, 8)).toString(),
+                    "approved", random.nextInt(10) < 8);
+            return record;
+        }).iterator();
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.api.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.api.dto.BookingDto;
+import ru.practicum.shareit.booking.domain.model.Booking;
+import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.BookingView;
+import ru.practicum.shareit.item.api.mapper.ItemApiMapper;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.user.api.mapper.UserApiMapper;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookingApiMapperBenchmark {
+    private final BookingApiMapper mapper = new BookingApiMapper(new ItemApiMapper(), new UserApiMapper());
+    private Booking booking;
+    private BookingView view;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        booking = Booking.builder()
+                .id(1L)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(Item.builder().id(1L).name("Дрель").description("Аккумуляторная дрель").available(true).build())
+                .booker(User.builder().id(2L).name("Booker").email("booker@mail.ru").build())
+                .status(BookingStatus.APPROVED)
+                .created(now)
+                .build();
+        view = new BookingView(1L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED, now,
+                1L, "Дрель", "Аккумуляторная дрель", true, null, 2L, "Booker", "booker@mail.ru");
+    }
+
+    @Benchmark
+    public BookingDto roundTrip() {
+        BookingDto dto = mapper.toDto(booking);
+        return mapper.toDto(mapper.toModel(dto));
+    }
+
+    @Benchmark
+    public BookingDto viewToDto() {
+        return mapper.viewToDto(view);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.persistence.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.domain.model.Booking;
+import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.persistence.entity.BookingEntity;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.persistence.mapper.ItemPersistenceMapper;
+import ru.practicum.shareit.user.domain.model.User;
+import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookingPersistenceMapperBenchmark {
+    private BookingPersistenceMapper mapper;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        UserPersistenceMapper userMapper = new UserPersistenceMapper();
+        mapper = new BookingPersistenceMapper(userMapper, new ItemPersistenceMapper(userMapper));
+        LocalDateTime now = LocalDateTime.now();
+        booking = Booking.builder()
+                .id(1L)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(Item.builder().id(1L).name("Дрель").description("Аккумуляторная дрель").available(true)
+                        .owner(User.builder().id(1L).name("Owner").email("owner@mail.ru").build())
+                        .build())
+                .booker(User.builder().id(2L).name("Booker").email("booker@mail.ru").build())
+                .status(BookingStatus.APPROVED)
+                .created(now)
+                .build();
+    }
+
+    @Benchmark
+    public Booking roundTrip() {
+        BookingEntity entity = mapper.toEntity(booking);
+        return mapper.toDomain(entity);
+    }
+}
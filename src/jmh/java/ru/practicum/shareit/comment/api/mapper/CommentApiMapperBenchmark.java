@@ -0,0 +1,52 @@
+package ru.practicum.shareit.comment.api.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.comment.api.dto.CommentDto;
+import ru.practicum.shareit.comment.domain.model.Comment;
+import ru.practicum.shareit.item.api.mapper.ItemApiMapper;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.user.api.mapper.UserApiMapper;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CommentApiMapperBenchmark {
+    private final CommentApiMapper mapper = new CommentApiMapper(new ItemApiMapper(), new UserApiMapper());
+    private Comment comment;
+    private List<Comment> latest;
+
+    @Setup
+    public void setUp() {
+        comment = comment(1L);
+        latest = LongStream.rangeClosed(1, 10).mapToObj(this::comment).toList();
+    }
+
+    @Benchmark
+    public CommentDto toDto() {
+        return mapper.toDto(comment);
+    }
+
+    @Benchmark
+    public List<CommentDto> latestToDtos() {
+        return mapper.toDtos(latest);
+    }
+
+    private Comment comment(long id) {
+        return Comment.builder()
+                .id(id)
+                .text("Отличная дрель, всё работает")
+                .item(Item.builder().id(1L).name("Дрель").description("Аккумуляторная дрель").available(true).build())
+                .author(User.builder().id(2L).name("Booker").email("booker@mail.ru").build())
+                .created(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.comment.persistence.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.comment.domain.model.Comment;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.persistence.mapper.ItemPersistenceMapper;
+import ru.practicum.shareit.user.domain.model.User;
+import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CommentPersistenceMapperBenchmark {
+    private CommentPersistenceMapper mapper;
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        UserPersistenceMapper userMapper = new UserPersistenceMapper();
+        ItemPersistenceMapper itemMapper = new ItemPersistenceMapper(userMapper);
+        mapper = new CommentPersistenceMapper(userMapper, itemMapper);
+        comment = Comment.builder()
+                .id(1L)
+                .text("Отличная дрель, всё работает")
+                .item(Item.builder().id(1L).name("Дрель").description("Аккумуляторная дрель").available(true).build())
+                .author(User.builder().id(2L).name("Booker").email("booker@mail.ru").build())
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public Comment roundTrip() {
+        return mapper.toDomain(mapper.toEntity(comment));
+    }
+}
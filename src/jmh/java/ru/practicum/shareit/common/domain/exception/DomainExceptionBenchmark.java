@@ -0,0 +1,28 @@
+package ru.practicum.shareit.common.domain.exception;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость создания доменной ошибки без стека против обычного RuntimeException.
+ * Для сравнения со стеком: -Djmh.args="DomainException -jvmArgsAppend -Dshareit.exceptions.stack-traces=true".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DomainExceptionBenchmark {
+
+    @Benchmark
+    public RuntimeException runtimeException() {
+        return new RuntimeException("Не найдено");
+    }
+
+    @Benchmark
+    public NotFoundException notFoundException() {
+        return new NotFoundException("Не найдено");
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.common.domain.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.common.domain.exception.ValidationException;
+import ru.practicum.shareit.item.domain.ItemServiceImpl;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.memory.ItemInMemoryStorage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы валидации в CrudServiceImpl.save относительно прямой записи в хранилище.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CrudServiceSaveBenchmark {
+    private ItemInMemoryStorage storage;
+    private ItemServiceImpl service;
+    private Item valid;
+    private Item invalid;
+    private Item patch;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        storage = new ItemInMemoryStorage();
+        service = new ItemServiceImpl(storage);
+        valid = Item.builder().name("Дрель").description("Аккумуляторная дрель").available(true).build();
+        invalid = Item.builder().name(" ").description("Аккумуляторная дрель").available(true).build();
+        Item existing = storage.create(valid);
+        patch = Item.builder().id(existing.getId()).name("Перфоратор").build();
+    }
+
+    @Benchmark
+    public Item createDirect() {
+        return storage.create(valid);
+    }
+
+    @Benchmark
+    public Item createThroughService() {
+        return service.save(valid);
+    }
+
+    @Benchmark
+    public Item patchThroughService() {
+        return service.save(patch);
+    }
+
+    @Benchmark
+    public ValidationException rejectInvalid() {
+        try {
+            service.save(invalid);
+            return null;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+}
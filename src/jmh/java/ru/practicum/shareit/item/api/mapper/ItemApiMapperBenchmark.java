@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.api.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.api.dto.ItemDto;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemApiMapperBenchmark {
+    private final ItemApiMapper mapper = new ItemApiMapper();
+    private ItemDto dto;
+    private ItemView view;
+
+    @Setup
+    public void setUp() {
+        dto = new ItemDto(1L, "Дрель", "Аккумуляторная дрель с набором бит", true);
+        view = new ItemView(1L, "Дрель", "Аккумуляторная дрель с набором бит", true, null);
+    }
+
+    @Benchmark
+    public ItemDto roundTrip() {
+        Item model = mapper.toModel(dto);
+        return mapper.toDto(model);
+    }
+
+    @Benchmark
+    public ItemDto viewToDto() {
+        return mapper.viewToDto(view);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.memory;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemInMemoryStorageBenchmark {
+    private static final String[] WORDS = {"дрель", "пила", "отвёртка", "лестница", "палатка", "велосипед"};
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private ItemInMemoryStorage storage;
+    private SplittableRandom random;
+    private User owner;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        storage = new ItemInMemoryStorage();
+        random = new SplittableRandom(42);
+        owner = User.builder().id(1L).name("Owner").email("owner@mail.ru").build();
+        for (int i = 0; i < size; i++) {
+            String word = WORDS[i % WORDS.length];
+            storage.create(Item.builder()
+                    .name(word + " " + i)
+                    .description("Описание: " + word)
+                    .available(i % 4 != 0)
+                    .owner(i % 10 == 0 ? owner : User.builder().id((long) i + 2).build())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Optional<Item> findById() {
+        return storage.findById(random.nextLong(1, size + 1));
+    }
+
+    @Benchmark
+    public Item create() {
+        return storage.create(Item.builder().name("Новая дрель").description("Описание").available(true).build());
+    }
+
+    @Benchmark
+    public Item update() {
+        return storage.update(Item.builder().id(random.nextLong(1, size + 1)).name("Переименованная").build());
+    }
+
+    @Benchmark
+    public List<Item> searchHit() {
+        return storage.findByTextContainsInNameAndDescription("ДРЕЛЬ");
+    }
+
+    @Benchmark
+    public List<Item> searchMiss() {
+        return storage.findByTextContainsInNameAndDescription("рояль");
+    }
+
+    @Benchmark
+    public List<Item> findByOwner() {
+        return storage.findByOwner(owner);
+    }
+}
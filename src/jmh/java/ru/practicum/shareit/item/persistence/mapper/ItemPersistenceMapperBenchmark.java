@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.persistence.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.persistence.entity.ItemEntity;
+import ru.practicum.shareit.user.domain.model.User;
+import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemPersistenceMapperBenchmark {
+    private ItemPersistenceMapper mapper;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        UserPersistenceMapper userMapper = new UserPersistenceMapper();
+        mapper = new ItemPersistenceMapper(userMapper);
+        item = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель с набором бит")
+                .available(true)
+                .owner(User.builder().id(1L).name("Owner").email("owner@mail.ru").build())
+                .build();
+    }
+
+    @Benchmark
+    public Item roundTrip() {
+        ItemEntity entity = mapper.toEntity(item);
+        return mapper.toDomain(entity);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.request.persistence.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.request.persistence.entity.RequestEntity;
+import ru.practicum.shareit.user.domain.model.User;
+import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequestPersistenceMapperBenchmark {
+    private final RequestPersistenceMapper mapper = new RequestPersistenceMapper(new UserPersistenceMapper());
+    private ItemRequest request;
+
+    @Setup
+    public void setUp() {
+        request = ItemRequest.builder()
+                .id(1L)
+                .description("Нужна дрель на выходные")
+                .requester(User.builder().id(2L).name("Booker").email("booker@mail.ru").build())
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public ItemRequest roundTrip() {
+        RequestEntity entity = mapper.toEntity(request);
+        return mapper.toDomain(entity);
+    }
+}
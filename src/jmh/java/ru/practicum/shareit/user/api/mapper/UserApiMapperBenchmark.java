@@ -0,0 +1,36 @@
+package ru.practicum.shareit.user.api.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.user.api.dto.UserDto;
+import ru.practicum.shareit.user.domain.model.User;
+import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserApiMapperBenchmark {
+    private final UserApiMapper apiMapper = new UserApiMapper();
+    private final UserPersistenceMapper persistenceMapper = new UserPersistenceMapper();
+    private UserDto dto;
+
+    @Setup
+    public void setUp() {
+        dto = new UserDto(1L, "Owner", "owner@mail.ru");
+    }
+
+    @Benchmark
+    public UserDto apiRoundTrip() {
+        return apiMapper.toDto(apiMapper.toModel(dto));
+    }
+
+    @Benchmark
+    public UserDto fullRoundTrip() {
+        User model = apiMapper.toModel(dto);
+        return apiMapper.toDto(persistenceMapper.toDomain(persistenceMapper.toEntity(model)));
+    }
+}
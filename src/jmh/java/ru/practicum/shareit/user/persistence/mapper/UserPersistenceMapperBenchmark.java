@@ -0,0 +1,29 @@
+package ru.practicum.shareit.user.persistence.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.user.domain.model.User;
+import ru.practicum.shareit.user.persistence.entity.UserEntity;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserPersistenceMapperBenchmark {
+    private final UserPersistenceMapper mapper = new UserPersistenceMapper();
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = User.builder().id(1L).name("Owner").email("owner@mail.ru").build();
+    }
+
+    @Benchmark
+    public User roundTrip() {
+        UserEntity entity = mapper.toEntity(user);
+        return mapper.toDomain(entity);
+    }
+}
@@ -1,26 +1,39 @@
 package ru.practicum.shareit.booking.api;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.api.dto.BookingDto;
 import ru.practicum.shareit.booking.api.dto.NewBookingDto;
 import ru.practicum.shareit.booking.api.mapper.BookingApiMapper;
 import ru.practicum.shareit.booking.domain.BookingService;
 import ru.practicum.shareit.booking.domain.model.Booking;
 import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.BookingView;
+import ru.practicum.shareit.common.api.ETags;
+import ru.practicum.shareit.common.api.JsonArrayWriter;
+import ru.practicum.shareit.common.concurrent.LookupScope;
+import ru.practicum.shareit.common.concurrent.ParallelLookups;
 import ru.practicum.shareit.common.domain.exception.NotFoundException;
 import ru.practicum.shareit.common.domain.exception.ValidationException;
+import ru.practicum.shareit.item.api.dto.ItemDto;
 import ru.practicum.shareit.item.domain.ItemService;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.user.api.dto.UserDto;
 import ru.practicum.shareit.user.domain.UserService;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -31,15 +44,24 @@ public class BookingController {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingApiMapper mapper;
+    private final ParallelLookups lookups;
+    private final JsonArrayWriter jsonArrays;
 
     @PostMapping
     public ResponseEntity<BookingDto> create(@RequestBody @Valid NewBookingDto dto,
                                           @RequestHeader(USER_ID_HEADER) Long userId) {
         validate(dto);
         Booking model = mapper.toModel(dto);
-        Item item = itemService.findById(dto.itemId());
+        Item item;
+        User user;
+        try (LookupScope scope = lookups.open()) {
+            Supplier<Item> itemLookup = scope.fork(() -> itemService.findById(dto.itemId()));
+            Supplier<User> userLookup = scope.fork(() -> userService.findById(userId));
+            scope.join();
+            item = itemLookup.get();
+            user = userLookup.get();
+        }
         model.setItem(item);
-        User user = userService.findById(userId);
         model.setBooker(user);
         Booking created = bookingService.save(model);
         created.setItem(item);
@@ -65,22 +87,50 @@ public class BookingController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookingDto> findById(@PathVariable long id) {
-        return ResponseEntity.ok(mapper.toDto(bookingService.findById(id)));
+    public ResponseEntity<BookingDto> findById(@PathVariable long id, WebRequest request) {
+        String etag = bookingService.findRevision(id).map(revision -> ETags.of("booking", id, revision)).orElse(null);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return ETags.ok(mapper.toDto(bookingService.findById(id)), etag);
     }
 
+    /**
+     * Список без пагинации пишется в ответ потоком прямо из курсора БД. С compact=true вместо массива
+     * приходит {"bookings": [...], "items": {id: ...}, "users": {id: ...}}: вещь и арендатор не повторяются
+     * в каждом бронировании.
+     */
     @GetMapping
-    public ResponseEntity<List<BookingDto>> findAll(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                     @RequestParam(required = false) Optional<BookingStatus> status) {
+    public void findAll(@RequestHeader(USER_ID_HEADER) Long userId,
+                        @RequestParam(required = false) Optional<BookingStatus> status,
+                        @RequestParam(defaultValue = "false") boolean compact,
+                        HttpServletResponse response) throws IOException {
         User user = userService.findById(userId);
-        return ResponseEntity.ok(mapper.toDtos(bookingService.findByBooker(user, status)));
+        writeViews(response, compact, sink -> bookingService.forEachViewByBooker(user, status, sink));
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<List<BookingDto>> findByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                        @RequestParam(required = false) Optional<BookingStatus> status) {
+    public void findByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
+                            @RequestParam(required = false) Optional<BookingStatus> status,
+                            @RequestParam(defaultValue = "false") boolean compact,
+                            HttpServletResponse response) throws IOException {
         User user = userService.findById(userId);
-        return ResponseEntity.ok(mapper.toDtos(bookingService.findByOwnerShip(user, status)));
+        writeViews(response, compact, sink -> bookingService.forEachViewByOwnerShip(user, status, sink));
+    }
+
+    private void writeViews(HttpServletResponse response, boolean compact,
+                            Consumer<Consumer<BookingView>> source) throws IOException {
+        if (!compact) {
+            jsonArrays.write(response, mapper::viewToDto, source);
+            return;
+        }
+        Map<Long, ItemDto> items = new LinkedHashMap<>();
+        Map<Long, UserDto> users = new LinkedHashMap<>();
+        Map<String, Object> sideLoads = new LinkedHashMap<>();
+        sideLoads.put("items", items);
+        sideLoads.put("users", users);
+        jsonArrays.writeObject(response, "bookings", view -> mapper.viewToCompactDto(view, items, users),
+                source, sideLoads);
     }
 
     private void validate(NewBookingDto dto) {
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.api.dto;
+
+import lombok.Builder;
+import ru.practicum.shareit.booking.domain.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование в компактном списке: вещь и арендатор передаются по id, сами они лежат в словарях ответа.
+ */
+@Builder
+public record CompactBookingDto(Long id, LocalDateTime start, LocalDateTime end,
+                                Long itemId, Long bookerId, BookingStatus status,
+                                LocalDateTime created) { }
@@ -3,12 +3,17 @@ package ru.practicum.shareit.booking.api.mapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.api.dto.BookingDto;
+import ru.practicum.shareit.booking.api.dto.CompactBookingDto;
 import ru.practicum.shareit.booking.api.dto.NewBookingDto;
 import ru.practicum.shareit.booking.domain.model.Booking;
+import ru.practicum.shareit.booking.domain.model.BookingView;
+import ru.practicum.shareit.item.api.dto.ItemDto;
 import ru.practicum.shareit.item.api.mapper.ItemApiMapper;
+import ru.practicum.shareit.user.api.dto.UserDto;
 import ru.practicum.shareit.user.api.mapper.UserApiMapper;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -74,4 +79,42 @@ public class BookingApiMapper {
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
+
+    public BookingDto viewToDto(BookingView view) {
+        if (view == null) {
+            return null;
+        }
+        return BookingDto.builder()
+                .id(view.id())
+                .start(view.start())
+                .end(view.end())
+                .item(new ItemDto(view.itemId(), view.itemName(), view.itemDescription(), view.itemAvailable(),
+                        view.itemRequestId()))
+                .booker(new UserDto(view.bookerId(), view.bookerName(), view.bookerEmail()))
+                .status(view.status())
+                .created(view.created())
+                .build();
+    }
+
+    /**
+     * Компактное бронирование; вещь и арендатор кладутся в словари один раз на id.
+     */
+    public CompactBookingDto viewToCompactDto(BookingView view, Map<Long, ItemDto> items, Map<Long, UserDto> users) {
+        if (view == null) {
+            return null;
+        }
+        items.computeIfAbsent(view.itemId(),
+                id -> new ItemDto(id, view.itemName(), view.itemDescription(), view.itemAvailable(),
+                        view.itemRequestId()));
+        users.computeIfAbsent(view.bookerId(), id -> new UserDto(id, view.bookerName(), view.bookerEmail()));
+        return CompactBookingDto.builder()
+                .id(view.id())
+                .start(view.start())
+                .end(view.end())
+                .itemId(view.itemId())
+                .bookerId(view.bookerId())
+                .status(view.status())
+                .created(view.created())
+                .build();
+    }
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.domain;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import ru.practicum.shareit.booking.domain.model.Booking;
+
+@Name("ru.practicum.shareit.BookingOperation")
+@Label("Booking Operation")
+@Category({"ShareIt", "Booking"})
+@Description("Создание, изменение и подтверждение бронирования")
+@StackTrace(false)
+class BookingOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Booking Id")
+    long bookingId;
+
+    @Label("Item Id")
+    long itemId;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Status")
+    String status;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Поля заполняются, только если событие действительно пишется в запись.
+     */
+    void finish(String operation, Long userId, Booking booking, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.userId = userId != null ? userId : 0;
+            if (booking != null) {
+                this.bookingId = booking.getId() != null ? booking.getId() : 0;
+                this.itemId = booking.getItem() != null && booking.getItem().getId() != null
+                        ? booking.getItem().getId()
+                        : 0;
+                if (this.userId == 0 && booking.getBooker() != null && booking.getBooker().getId() != null) {
+                    this.userId = booking.getBooker().getId();
+                }
+                this.status = booking.getStatus() != null ? booking.getStatus().name() : null;
+            }
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -2,11 +2,14 @@ package ru.practicum.shareit.booking.domain;
 
 import ru.practicum.shareit.booking.domain.model.Booking;
 import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.BookingView;
+import ru.practicum.shareit.booking.domain.model.ItemBookingSummary;
 import ru.practicum.shareit.common.domain.service.CrudService;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookingService extends CrudService<Booking> {
     Booking approve(Long id, User user, boolean approved);
@@ -16,4 +19,22 @@ public interface BookingService extends CrudService<Booking> {
     List<Booking> findByOwnerShip(User user, Optional<BookingStatus> status);
 
     List<Booking> findByItemId(Long itemId);
+
+    /**
+     * Даты последнего и следующего подтверждённых бронирований вещи из item_booking_summary;
+     * устаревшая или отсутствующая строка пересчитывается на месте.
+     */
+    ItemBookingSummary findSummary(Long itemId);
+
+    /**
+     * Ревизия для ETag без загрузки бронирования; пусто, если бронирования нет.
+     */
+    Optional<String> findRevision(Long id);
+
+    /**
+     * Потоковый обход для выдачи списка без промежуточной коллекции; sink вызывается внутри транзакции чтения.
+     */
+    void forEachViewByBooker(User user, Optional<BookingStatus> status, Consumer<BookingView> sink);
+
+    void forEachViewByOwnerShip(User user, Optional<BookingStatus> status, Consumer<BookingView> sink);
 }
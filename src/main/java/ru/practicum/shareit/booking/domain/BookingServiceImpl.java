@@ -4,32 +4,58 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.domain.model.Booking;
 import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.BookingView;
+import ru.practicum.shareit.booking.domain.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.domain.repo.BookingRepo;
+import ru.practicum.shareit.booking.domain.repo.ItemBookingSummaryRepo;
+import ru.practicum.shareit.common.domain.exception.DataConflictException;
+import ru.practicum.shareit.common.domain.exception.NotFoundException;
 import ru.practicum.shareit.common.domain.exception.ValidationException;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 import ru.practicum.shareit.common.domain.service.CrudServiceImpl;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl extends CrudServiceImpl<Booking> implements BookingService {
     private final BookingRepo repo;
+    private final ItemBookingSummaryRepo summaryRepo;
 
     @Override
-    public Booking approve(Long id, User user, boolean approved) {
-        Booking booking = repo.findById(id).orElseThrow(() -> new ValidationException("Booking not existed"));
-        if (!booking.getItem().getOwner().getId().equals(user.getId())) {
-            throw new ValidationException("Cannot approve item without ownership");
+    public Booking save(Booking booking) {
+        String operation = booking != null && booking.getId() != null ? "UPDATE" : "CREATE";
+        BookingOperationEvent event = new BookingOperationEvent();
+        event.begin();
+        try {
+            Booking saved = super.save(booking);
+            event.finish(operation, null, saved, "SUCCESS");
+            return saved;
+        } catch (RuntimeException e) {
+            event.finish(operation, null, booking, e.getClass().getSimpleName());
+            throw e;
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+    }
+
+    @Override
+    public Booking approve(Long id, User user, boolean approved) {
+        String operation = approved ? "APPROVE" : "REJECT";
+        BookingOperationEvent event = new BookingOperationEvent();
+        event.begin();
+        try {
+            BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            Booking saved = repo.decide(id, user.getId(), status)
+                    .orElseThrow(() -> decisionRefused(id, user));
+            event.finish(operation, user.getId(), saved, "SUCCESS");
+            return saved;
+        } catch (RuntimeException e) {
+            event.finish(operation, user.getId(), null, e.getClass().getSimpleName());
+            throw e;
         }
-        return save(booking);
     }
 
     @Override
@@ -55,6 +81,33 @@ public class BookingServiceImpl extends CrudServiceImpl<Booking> implements Book
         return repo.findByItemId(itemId);
     }
 
+    @Override
+    public Optional<String> findRevision(Long id) {
+        return repo.findRevision(id);
+    }
+
+    @Override
+    public ItemBookingSummary findSummary(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<ItemBookingSummary> summary = summaryRepo.findByItemIds(List.of(itemId)).stream().findFirst();
+        if (summary.isPresent() && !summary.get().isStale(now)) {
+            return summary.get();
+        }
+        summaryRepo.refresh(List.of(itemId), now);
+        return summaryRepo.findByItemIds(List.of(itemId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Item not found"));
+    }
+
+    @Override
+    public void forEachViewByBooker(User user, Optional<BookingStatus> status, Consumer<BookingView> sink) {
+        repo.forEachViewByBooker(user, status, sink);
+    }
+
+    @Override
+    public void forEachViewByOwnerShip(User user, Optional<BookingStatus> status, Consumer<BookingView> sink) {
+        repo.forEachViewByOwnerShip(user, status, sink);
+    }
 
     @Override
     protected void validateBeforeCreate(Booking model) {
@@ -71,6 +124,20 @@ public class BookingServiceImpl extends CrudServiceImpl<Booking> implements Book
         return repo;
     }
 
+    /**
+     * Причина, по которой условный UPDATE не затронул строку; читается только на этом редком пути.
+     */
+    private RuntimeException decisionRefused(Long id, User user) {
+        Optional<Booking> booking = repo.findById(id);
+        if (booking.isEmpty()) {
+            return new ValidationException("Booking not existed");
+        }
+        if (!booking.get().getItem().getOwner().getId().equals(user.getId())) {
+            return new ValidationException("Cannot approve item without ownership");
+        }
+        return new DataConflictException("Booking already " + booking.get().getStatus());
+    }
+
     private void commonValidation(Booking model) {
         if (!model.getItem().getAvailable()) {
             throw new ValidationException("Cannot book unavailable item");
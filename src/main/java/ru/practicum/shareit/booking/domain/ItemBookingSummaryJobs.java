@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.domain.repo.ItemBookingSummaryRepo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Фоновое обслуживание item_booking_summary: сдвиг строк, у которых наступил
+ * следующий старт или закончилось бронирование, и сверка с таблицей бронирований.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit.scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ItemBookingSummaryJobs {
+    private final ItemBookingSummaryRepo repo;
+    private final int batchSize;
+
+    public ItemBookingSummaryJobs(ItemBookingSummaryRepo repo,
+                                  @Value("${shareit.bookings.summary.batch-size:500}") int batchSize) {
+        this.repo = repo;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Возвращает число пересчитанных строк.
+     */
+    @Scheduled(fixedDelayString = "${shareit.bookings.summary.advance-interval:PT30S}",
+            initialDelayString = "${shareit.bookings.summary.advance-interval:PT30S}")
+    public int advance() {
+        LocalDateTime now = LocalDateTime.now();
+        int advanced = 0;
+        List<Long> stale;
+        do {
+            stale = repo.findStaleItemIds(now, batchSize);
+            repo.refresh(stale, now);
+            advanced += stale.size();
+        } while (stale.size() == batchSize);
+        return advanced;
+    }
+
+    /**
+     * Проходит все вещи страницами по id и пересчитывает отсутствующие или разошедшиеся строки.
+     */
+    @Scheduled(fixedDelayString = "${shareit.bookings.summary.check-interval:PT1H}",
+            initialDelayString = "${shareit.bookings.summary.check-interval:PT1H}")
+    public int repairDrift() {
+        int repaired = 0;
+        long after = 0;
+        List<Long> page;
+        do {
+            page = repo.findItemIdsAfter(after, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> drifted = repo.findDrifted(page, now);
+            repo.refresh(drifted, now);
+            repaired += drifted.size();
+            after = page.get(page.size() - 1);
+        } while (page.size() == batchSize);
+        if (repaired > 0) {
+            log.warn("Refreshed {} item booking summary rows that were missing or out of date", repaired);
+        }
+        return repaired;
+    }
+}
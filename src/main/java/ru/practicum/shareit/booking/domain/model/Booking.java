@@ -26,5 +26,7 @@ public class Booking extends Model {
 
     @Builder.Default
     private LocalDateTime created = LocalDateTime.now();
+
+    private Long version;
 }
 
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only проекция бронирования вместе с вещью и автором, заполняется прямо из запроса без сущностей.
+ */
+public record BookingView(Long id, LocalDateTime start, LocalDateTime end,
+                          BookingStatus status, LocalDateTime created,
+                          Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                          Long itemRequestId,
+                          Long bookerId, String bookerName, String bookerEmail) {
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Даты ближайших подтверждённых бронирований вещи, хранятся отдельной строкой на вещь.
+ * {@code nextStart} и {@code pendingEnd} - моменты, после которых строку нужно пересчитать.
+ */
+public record ItemBookingSummary(Long itemId,
+                                 LocalDateTime lastEnd,
+                                 LocalDateTime nextStart,
+                                 LocalDateTime pendingEnd) {
+    /**
+     * Бронирование считается прошедшим спустя это время после окончания.
+     */
+    public static final Duration LAST_BOOKING_GRACE = Duration.ofSeconds(5);
+
+    /**
+     * Часть ETag вещи, зависящая от бронирований: сами даты без хеширования, чтобы разные
+     * пары дат не могли дать одинаковый тег.
+     */
+    public String revision() {
+        return stamp(lastEnd) + "-" + stamp(nextStart);
+    }
+
+    public boolean isStale(LocalDateTime now) {
+        return (nextStart != null && !nextStart.isAfter(now))
+                || (pendingEnd != null && pendingEnd.isBefore(now.minus(LAST_BOOKING_GRACE)));
+    }
+
+    private static String stamp(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        String seconds = Long.toString(time.toEpochSecond(ZoneOffset.UTC), 36);
+        return time.getNano() == 0 ? seconds : seconds + "." + time.getNano();
+    }
+}
@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking.domain.repo;
 
 import ru.practicum.shareit.booking.domain.model.Booking;
 import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.BookingView;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookingRepo extends CrudRepo<Booking> {
     List<Booking> findByBookerAndState(User owner, BookingStatus status);
@@ -17,4 +20,22 @@ public interface BookingRepo extends CrudRepo<Booking> {
     List<Booking> findByOwnerShip(User owner);
 
     List<Booking> findByItemId(Long itemId);
+
+    /**
+     * Переводит ожидающее бронирование в статус {@code status} одним условным UPDATE,
+     * если вещь принадлежит {@code ownerId}. Пусто, если ни одна строка не подошла.
+     */
+    Optional<Booking> decide(Long id, Long ownerId, BookingStatus status);
+
+    /**
+     * Ревизия для ETag из версий бронирования, вещи и арендатора.
+     */
+    Optional<String> findRevision(Long id);
+
+    /**
+     * Передаёт проекции в sink по мере чтения курсора, не собирая их в список.
+     */
+    void forEachViewByBooker(User booker, Optional<BookingStatus> status, Consumer<BookingView> sink);
+
+    void forEachViewByOwnerShip(User owner, Optional<BookingStatus> status, Consumer<BookingView> sink);
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.domain.repo;
+
+import ru.practicum.shareit.booking.domain.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepo {
+    List<ItemBookingSummary> findByItemIds(Collection<Long> itemIds);
+
+    /**
+     * Пересчитывает строки по бронированиям; отсутствующие строки создаются.
+     */
+    void refresh(Collection<Long> itemIds, LocalDateTime now);
+
+    /**
+     * Вещи, чьи строки устарели к моменту {@code now}.
+     */
+    List<Long> findStaleItemIds(LocalDateTime now, int limit);
+
+    /**
+     * Id вещей по возрастанию, строго после {@code afterItemId}.
+     */
+    List<Long> findItemIdsAfter(long afterItemId, int limit);
+
+    /**
+     * Вещи из переданных, у которых строки нет или она расходится с бронированиями.
+     */
+    List<Long> findDrifted(Collection<Long> itemIds, LocalDateTime now);
+}
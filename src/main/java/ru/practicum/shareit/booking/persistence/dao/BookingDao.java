@@ -1,82 +1,179 @@
 package ru.practicum.shareit.booking.persistence.dao;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.domain.model.Booking;
 import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.BookingView;
 import ru.practicum.shareit.booking.domain.repo.BookingRepo;
-import ru.practicum.shareit.booking.persistence.entity.BookingEntity;
+import ru.practicum.shareit.booking.domain.repo.ItemBookingSummaryRepo;
 import ru.practicum.shareit.booking.persistence.mapper.BookingPersistenceMapper;
 import ru.practicum.shareit.booking.persistence.repo.BookingRepository;
+import ru.practicum.shareit.common.domain.exception.DataConflictException;
 import ru.practicum.shareit.common.domain.exception.NotFoundException;
+import ru.practicum.shareit.common.persistence.batch.IdBatches;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
+import ru.practicum.shareit.common.persistence.update.PartialUpdateExecutor;
+import ru.practicum.shareit.user.domain.UserDeletingEvent;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class BookingDao implements BookingRepo {
     private final BookingRepository repository;
     private final BookingPersistenceMapper mapper;
+    private final PartialUpdateExecutor updates;
+    private final ItemBookingSummaryRepo summaries;
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
     public Optional<Booking> findById(Long id) {
         return repository.findById(id)
                 .map(mapper::toDomain);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
+    public List<Booking> findAllByIds(Collection<Long> ids) {
+        return IdBatches.findAll(ids, chunk -> mapper.toDomainList(repository.findFetchedByIdIn(chunk)));
+    }
+
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.bookings.write}")
     public Booking create(Booking item) {
-        return mapper.toDomain(repository.save(mapper.toEntity(item)));
+        Booking created = mapper.toDomain(repository.save(mapper.toEntity(item)));
+        if (created.getStatus() == BookingStatus.APPROVED) {
+            refreshSummary(created);
+        }
+        return created;
     }
 
     @Override
-    @Transactional
+    @Transactional(timeoutString = "${shareit.persistence.timeout.bookings.write}")
     public Booking update(Booking item) {
-        BookingEntity entity = repository.findById(item.getId())
+        PartialUpdate update = mapper.toPartialUpdate(item);
+        if (update.hasValues() && updates.update(update) == 0) {
+            if (item.getVersion() != null && repository.existsById(item.getId())) {
+                throw new DataConflictException("booking was modified concurrently");
+            }
+            throw new NotFoundException("booking not found");
+        }
+        Booking updated = repository.findFetchedById(item.getId())
+                .map(mapper::toDomain)
                 .orElseThrow(() -> new NotFoundException("booking not found"));
-        mapper.updateEntityFromDomain(item, entity);
-        return mapper.toDomain(repository.save(entity));
+        refreshSummary(updated);
+        return updated;
     }
 
     @Override
-    @Transactional
+    @Transactional(timeoutString = "${shareit.persistence.timeout.bookings.write}")
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        repository.findItemIdById(id).ifPresent(itemId -> {
+            repository.deleteDirectlyById(id);
+            summaries.refresh(List.of(itemId), LocalDateTime.now());
+        });
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
     public List<Booking> findByBookerAndState(User owner, BookingStatus status) {
         return mapper.toDomainList(repository.findByBookerAndState(owner.getId(), status));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
     public List<Booking> findByBooker(User owner) {
         return mapper.toDomainList(repository.findByBooker(owner.getId()));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
     public List<Booking> findByOwnerShipAndState(User owner, BookingStatus status) {
         return mapper.toDomainList(repository.findByOwnerShipAndState(owner.getId(), status));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
     public List<Booking> findByOwnerShip(User owner) {
         return mapper.toDomainList(repository.findByOwnerShip(owner.getId()));
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
     public List<Booking> findByItemId(Long itemId) {
         return mapper.toDomainList(repository.findByItemId(itemId));
     }
 
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.bookings.write}")
+    public Optional<Booking> decide(Long id, Long ownerId, BookingStatus status) {
+        if (repository.updateStatusByOwner(id, ownerId, BookingStatus.WAITING, status) == 0) {
+            return Optional.empty();
+        }
+        Optional<Booking> decided = repository.findFetchedById(id)
+                .map(mapper::toDomain);
+        if (status == BookingStatus.APPROVED) {
+            decided.ifPresent(this::refreshSummary);
+        }
+        return decided;
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
+    public Optional<String> findRevision(Long id) {
+        return repository.findRevisionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.stream}")
+    public void forEachViewByBooker(User booker, Optional<BookingStatus> status, Consumer<BookingView> sink) {
+        try (Stream<BookingView> views = status
+                .map(state -> repository.streamViewsByBookerAndState(booker.getId(), state))
+                .orElseGet(() -> repository.streamViewsByBooker(booker.getId()))) {
+            views.forEach(sink);
+        }
+    }
 
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.stream}")
+    public void forEachViewByOwnerShip(User owner, Optional<BookingStatus> status, Consumer<BookingView> sink) {
+        try (Stream<BookingView> views = status
+                .map(state -> repository.streamViewsByOwnerShipAndState(owner.getId(), state))
+                .orElseGet(() -> repository.streamViewsByOwnerShip(owner.getId()))) {
+            views.forEach(sink);
+        }
+    }
+
+    /**
+     * Бронирования удаляемого пользователя удаляются здесь, а не каскадом из users: иначе даты
+     * в item_booking_summary и ETag вещей остались бы прежними до сверки раз в час.
+     */
+    @EventListener
+    public void onUserDeleting(UserDeletingEvent event) {
+        List<Long> itemIds = repository.findItemIdsByBookerId(event.userId());
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        repository.deleteByBookerIdDirectly(event.userId());
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < itemIds.size(); from += IdBatches.CHUNK_SIZE) {
+            summaries.refresh(itemIds.subList(from, Math.min(from + IdBatches.CHUNK_SIZE, itemIds.size())), now);
+        }
+    }
+
+    /**
+     * Пересчёт строки item_booking_summary в той же транзакции, что и запись бронирования.
+     */
+    private void refreshSummary(Booking booking) {
+        summaries.refresh(List.of(booking.getItem().getId()), LocalDateTime.now());
+    }
 }
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.booking.persistence.dao;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.domain.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.domain.repo.ItemBookingSummaryRepo;
+import ru.practicum.shareit.common.persistence.SqlDialect;
+import ru.practicum.shareit.common.persistence.batch.IdBatches;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Таблица item_booking_summary: одна строка на вещь с датами, которые иначе
+ * пришлось бы вычислять по всем её бронированиям при каждом чтении.
+ */
+@Component
+public class ItemBookingSummaryDao implements ItemBookingSummaryRepo {
+    private static final String LAST_END = "(SELECT MAX(b.end_date) FROM bookings b "
+            + "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.end_date < :lastCutoff)";
+    private static final String NEXT_START = "(SELECT MIN(b.start_date) FROM bookings b "
+            + "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date > :now)";
+    private static final String PENDING_END = "(SELECT MIN(b.end_date) FROM bookings b "
+            + "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.end_date >= :lastCutoff)";
+    private static final String SOURCE = "SELECT i.id AS item_id, " + LAST_END + " AS last_end, "
+            + NEXT_START + " AS next_start, " + PENDING_END + " AS pending_end "
+            + "FROM items i WHERE i.id IN (:itemIds)";
+
+    private static final String UPSERT_POSTGRESQL = """
+            INSERT INTO item_booking_summary (item_id, last_end, next_start, pending_end, refreshed_at)
+            SELECT src.*, :now FROM (%s) src
+            ON CONFLICT (item_id) DO UPDATE SET last_end = EXCLUDED.last_end, next_start = EXCLUDED.next_start,
+                pending_end = EXCLUDED.pending_end, refreshed_at = EXCLUDED.refreshed_at
+            """.formatted(SOURCE);
+    private static final String MERGE = """
+            MERGE INTO item_booking_summary s USING (%s) src ON (s.item_id = src.item_id)
+            WHEN MATCHED THEN UPDATE SET last_end = src.last_end, next_start = src.next_start,
+                pending_end = src.pending_end, refreshed_at = :now
+            WHEN NOT MATCHED THEN INSERT (item_id, last_end, next_start, pending_end, refreshed_at)
+                VALUES (src.item_id, src.last_end, src.next_start, src.pending_end, :now)
+            """.formatted(SOURCE);
+
+    private static final RowMapper<ItemBookingSummary> ROW = (rs, rowNum) -> new ItemBookingSummary(
+            rs.getLong("item_id"),
+            toLocal(rs.getTimestamp("last_end")),
+            toLocal(rs.getTimestamp("next_start")),
+            toLocal(rs.getTimestamp("pending_end")));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Supplier<SqlDialect> dialect;
+
+    public ItemBookingSummaryDao(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.dialect = SqlDialect.lazy(jdbc.getJdbcTemplate());
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
+    public List<ItemBookingSummary> findByItemIds(Collection<Long> itemIds) {
+        return IdBatches.queryAll(itemIds, chunk -> jdbc.query(
+                "SELECT item_id, last_end, next_start, pending_end FROM item_booking_summary WHERE item_id IN (:itemIds)",
+                new MapSqlParameterSource("itemIds", chunk), ROW));
+    }
+
+    /**
+     * В PostgreSQL - INSERT ... ON CONFLICT: MERGE там при одновременной вставке одной строки
+     * падает на уникальном ключе, а не ждёт соседнюю транзакцию.
+     */
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.bookings.write}")
+    public void refresh(Collection<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        String sql = dialect.get() == SqlDialect.POSTGRESQL ? UPSERT_POSTGRESQL : MERGE;
+        jdbc.update(sql, timeParameters(now).addValue("itemIds", itemIds));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
+    public List<Long> findStaleItemIds(LocalDateTime now, int limit) {
+        return jdbc.queryForList("""
+                        SELECT item_id FROM item_booking_summary
+                        WHERE next_start <= :now OR pending_end < :lastCutoff
+                        ORDER BY item_id
+                        LIMIT :limit
+                        """,
+                timeParameters(now).addValue("limit", limit), Long.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
+    public List<Long> findItemIdsAfter(long afterItemId, int limit) {
+        return jdbc.queryForList("SELECT id FROM items WHERE id > :afterItemId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterItemId", afterItemId).addValue("limit", limit), Long.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.bookings.read}")
+    public List<Long> findDrifted(Collection<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.queryForList("SELECT i.id FROM items i "
+                        + "LEFT JOIN item_booking_summary s ON s.item_id = i.id "
+                        + "WHERE i.id IN (:itemIds) AND (s.item_id IS NULL "
+                        + "OR s.last_end IS DISTINCT FROM " + LAST_END + " "
+                        + "OR s.next_start IS DISTINCT FROM " + NEXT_START + " "
+                        + "OR s.pending_end IS DISTINCT FROM " + PENDING_END + ") "
+                        + "ORDER BY i.id",
+                timeParameters(now).addValue("itemIds", itemIds), Long.class);
+    }
+
+    private static MapSqlParameterSource timeParameters(LocalDateTime now) {
+        return new MapSqlParameterSource("now", now)
+                .addValue("lastCutoff", now.minus(ItemBookingSummary.LAST_BOOKING_GRACE));
+    }
+
+    private static LocalDateTime toLocal(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -44,4 +44,8 @@ public class BookingEntity {
     @Column(name = "created", nullable = false)
     @Builder.Default
     private LocalDateTime created = LocalDateTime.now();
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
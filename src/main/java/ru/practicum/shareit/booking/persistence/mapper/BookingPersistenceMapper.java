@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.domain.model.Booking;
 import ru.practicum.shareit.booking.persistence.entity.BookingEntity;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
 import ru.practicum.shareit.item.domain.model.Item;
 import ru.practicum.shareit.item.persistence.entity.ItemEntity;
 import ru.practicum.shareit.item.persistence.mapper.ItemPersistenceMapper;
@@ -42,6 +43,7 @@ public class BookingPersistenceMapper {
                 .booker(booker)
                 .status(entity.getStatus())
                 .created(entity.getCreated())
+                .version(entity.getVersion())
                 .build();
     }
 
@@ -72,17 +74,22 @@ public class BookingPersistenceMapper {
                 .booker(bookerEntity)
                 .status(domain.getStatus())
                 .created(domain.getCreated())
+                .version(domain.getVersion())
                 .build();
     }
 
-    public void updateEntityFromDomain(Booking domain, BookingEntity entity) {
-        if (domain == null || entity == null) {
-            return;
-        }
-
-        if (domain.getStatus() != null) {
-            entity.setStatus(domain.getStatus());
+    /**
+     * Меняется только статус; при известной версии UPDATE выполняется лишь для неё.
+     */
+    public PartialUpdate toPartialUpdate(Booking domain) {
+        PartialUpdate update = PartialUpdate.table("bookings")
+                .set("status", domain.getStatus() != null ? domain.getStatus().name() : null)
+                .increment("version")
+                .where("id", domain.getId());
+        if (domain.getVersion() != null) {
+            update.where("version", domain.getVersion());
         }
+        return update;
     }
 
     public List<Booking> toDomainList(List<BookingEntity> entities) {
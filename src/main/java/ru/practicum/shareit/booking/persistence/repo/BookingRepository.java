@@ -1,13 +1,34 @@
 package ru.practicum.shareit.booking.persistence.repo;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.BookingView;
 import ru.practicum.shareit.booking.persistence.entity.BookingEntity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface BookingRepository extends CrudRepository<BookingEntity, Long> {
+    /**
+     * Версии строк, из которых собирается представление бронирования: само бронирование, вещь и арендатор.
+     */
+    @Query("""
+        SELECT CONCAT(str(b.version), '.', str(i.version), '.', str(u.version))
+        FROM BookingEntity b
+        JOIN b.item i
+        JOIN b.booker u
+        WHERE b.id = :id
+    """)
+    Optional<String> findRevisionById(Long id);
+
     @Query("""
         SELECT b FROM BookingEntity b
         LEFT JOIN FETCH b.booker u
@@ -38,5 +59,109 @@ public interface BookingRepository extends CrudRepository<BookingEntity, Long> {
     """)
     List<BookingEntity> findByOwnerShip(Long ownerId);
 
+    @Query("""
+        SELECT b FROM BookingEntity b
+        JOIN FETCH b.item i
+        LEFT JOIN FETCH i.owner
+        LEFT JOIN FETCH b.booker
+        WHERE i.id = :itemId
+    """)
     List<BookingEntity> findByItemId(Long itemId);
+
+    @Query("""
+        SELECT b FROM BookingEntity b
+        JOIN FETCH b.item i
+        LEFT JOIN FETCH i.owner
+        LEFT JOIN FETCH b.booker
+        WHERE b.id = :id
+    """)
+    Optional<BookingEntity> findFetchedById(Long id);
+
+    @Query("""
+        SELECT b FROM BookingEntity b
+        JOIN FETCH b.item i
+        LEFT JOIN FETCH i.owner
+        LEFT JOIN FETCH b.booker
+        WHERE b.id IN :ids
+    """)
+    List<BookingEntity> findFetchedByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE BookingEntity b
+        SET b.status = :status, b.version = b.version + 1
+        WHERE b.id = :id AND b.status = :expected
+          AND EXISTS (SELECT 1 FROM ItemEntity i WHERE i.id = b.item.id AND i.owner.id = :ownerId)
+    """)
+    int updateStatusByOwner(Long id, Long ownerId, BookingStatus expected, BookingStatus status);
+
+    @Query("SELECT b.item.id FROM BookingEntity b WHERE b.id = :id")
+    Optional<Long> findItemIdById(Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BookingEntity b WHERE b.id = :id")
+    int deleteDirectlyById(Long id);
+
+    @Query("SELECT DISTINCT b.item.id FROM BookingEntity b WHERE b.booker.id = :bookerId")
+    List<Long> findItemIdsByBookerId(Long bookerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BookingEntity b WHERE b.booker.id = :bookerId")
+    int deleteByBookerIdDirectly(Long bookerId);
+
+    /**
+     * Проекции для списков без пагинации: строки читаются курсором порциями по fetch size,
+     * поток нужно закрыть внутри транзакции.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new ru.practicum.shareit.booking.domain.model.BookingView(
+            b.id, b.start, b.end, b.status, b.created,
+            i.id, i.name, i.description, i.available, i.request.id,
+            u.id, u.name, u.email)
+        FROM BookingEntity b
+        JOIN b.item i
+        JOIN b.booker u
+        WHERE u.id = :bookerId AND b.status = :status
+    """)
+    Stream<BookingView> streamViewsByBookerAndState(Long bookerId, BookingStatus status);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new ru.practicum.shareit.booking.domain.model.BookingView(
+            b.id, b.start, b.end, b.status, b.created,
+            i.id, i.name, i.description, i.available, i.request.id,
+            u.id, u.name, u.email)
+        FROM BookingEntity b
+        JOIN b.item i
+        JOIN b.booker u
+        WHERE u.id = :bookerId
+    """)
+    Stream<BookingView> streamViewsByBooker(Long bookerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new ru.practicum.shareit.booking.domain.model.BookingView(
+            b.id, b.start, b.end, b.status, b.created,
+            i.id, i.name, i.description, i.available, i.request.id,
+            u.id, u.name, u.email)
+        FROM BookingEntity b
+        JOIN b.item i
+        JOIN b.booker u
+        WHERE i.owner.id = :ownerId AND b.status = :status
+    """)
+    Stream<BookingView> streamViewsByOwnerShipAndState(Long ownerId, BookingStatus status);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new ru.practicum.shareit.booking.domain.model.BookingView(
+            b.id, b.start, b.end, b.status, b.created,
+            i.id, i.name, i.description, i.available, i.request.id,
+            u.id, u.name, u.email)
+        FROM BookingEntity b
+        JOIN b.item i
+        JOIN b.booker u
+        WHERE i.owner.id = :ownerId
+    """)
+    Stream<BookingView> streamViewsByOwnerShip(Long ownerId);
 }
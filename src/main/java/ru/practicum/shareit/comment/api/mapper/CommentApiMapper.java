@@ -25,6 +25,7 @@ public class CommentApiMapper {
                 .item(itemMapper.toDto(item.getItem()))
                 .authorName(userMapper.toDto(item.getAuthor()).name())
                 .text(item.getText())
+                .created(item.getCreated())
                 .build();
     }
 
@@ -1,10 +1,19 @@
 package ru.practicum.shareit.comment.domain;
 
 import ru.practicum.shareit.comment.domain.model.Comment;
+import ru.practicum.shareit.comment.domain.model.ItemComments;
 import ru.practicum.shareit.common.domain.service.CrudService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentService extends CrudService<Comment> {
-    List<Comment> findByItemId(Long itemId);
+    ItemComments findLatestByItemId(Long itemId);
+
+    /**
+     * Ревизия того, что возвращает {@link #findLatestByItemId(Long)}.
+     */
+    String findRevisionByItemId(Long itemId);
+
+    List<Comment> findByItemId(Long itemId, LocalDateTime createdBefore, Long idBefore, int size);
 }
@@ -1,10 +1,11 @@
 package ru.practicum.shareit.comment.domain;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.domain.BookingService;
 import ru.practicum.shareit.booking.domain.model.Booking;
 import ru.practicum.shareit.comment.domain.model.Comment;
+import ru.practicum.shareit.comment.domain.model.ItemComments;
 import ru.practicum.shareit.comment.domain.repo.CommentRepo;
 import ru.practicum.shareit.common.domain.exception.ValidationException;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
@@ -12,26 +13,57 @@ import ru.practicum.shareit.common.domain.service.CrudServiceImpl;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 public class CommentServiceImpl extends CrudServiceImpl<Comment> implements CommentService {
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepo repo;
     private final BookingService bookingService;
+    private final int latestSize;
+
+    public CommentServiceImpl(CommentRepo repo,
+                              BookingService bookingService,
+                              @Value("${shareit.comments.latest-size:10}") int latestSize) {
+        this.repo = repo;
+        this.bookingService = bookingService;
+        this.latestSize = latestSize;
+    }
+
+    @Override
+    public ItemComments findLatestByItemId(Long itemId) {
+        return new ItemComments(repo.countByItemId(itemId), repo.findByItemId(itemId, null, null, latestSize));
+    }
 
     @Override
-    public List<Comment> findByItemId(Long itemId) {
-        return repo.findByItemId(itemId);
+    public String findRevisionByItemId(Long itemId) {
+        return repo.findRevisionByItemId(itemId, latestSize);
+    }
+
+    @Override
+    public List<Comment> findByItemId(Long itemId, LocalDateTime createdBefore, Long idBefore, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (Objects.isNull(createdBefore) != Objects.isNull(idBefore)) {
+            throw new ValidationException("Cursor requires both createdBefore and idBefore");
+        }
+        return repo.findByItemId(itemId, createdBefore, idBefore, size);
     }
 
     @Override
     protected void validateBeforeCreate(Comment model) {
+        CommentValidationEvent event = new CommentValidationEvent();
+        event.begin();
         List<Booking> bookings = bookingService.findByBooker(model.getAuthor(), Optional.empty());
         Optional<Booking> bookedItem = bookings.stream()
                 .filter(booked -> booked.getItem().getId().equals(model.getItem().getId()))
                 .findAny();
-        if (bookedItem.isEmpty() || bookedItem.get().getEnd().isAfter(LocalDateTime.now())) {
+        boolean accepted = bookedItem.isPresent() && !bookedItem.get().getEnd().isAfter(LocalDateTime.now());
+        event.finish(model.getItem().getId(), model.getAuthor().getId(), bookings.size(), accepted);
+        if (!accepted) {
             throw new ValidationException("Comments can be placed only for booked items");
         }
     }
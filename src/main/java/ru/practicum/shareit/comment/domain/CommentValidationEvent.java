@@ -0,0 +1,38 @@
+package ru.practicum.shareit.comment.domain;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ru.practicum.shareit.CommentValidation")
+@Label("Comment Validation")
+@Category({"ShareIt", "Comment"})
+@Description("Проверка, что автор отзыва завершил бронирование вещи")
+@StackTrace(false)
+class CommentValidationEvent extends Event {
+    @Label("Item Id")
+    long itemId;
+
+    @Label("Author Id")
+    long authorId;
+
+    @Label("Bookings Scanned")
+    int bookingsScanned;
+
+    @Label("Accepted")
+    boolean accepted;
+
+    void finish(Long itemId, Long authorId, int bookingsScanned, boolean accepted) {
+        end();
+        if (shouldCommit()) {
+            this.itemId = itemId != null ? itemId : 0;
+            this.authorId = authorId != null ? authorId : 0;
+            this.bookingsScanned = bookingsScanned;
+            this.accepted = accepted;
+            commit();
+        }
+    }
+}
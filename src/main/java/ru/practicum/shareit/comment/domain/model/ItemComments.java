@@ -0,0 +1,9 @@
+package ru.practicum.shareit.comment.domain.model;
+
+import java.util.List;
+
+/**
+ * Число отзывов о вещи и несколько последних из них, от новых к старым.
+ */
+public record ItemComments(long total, List<Comment> latest) {
+}
@@ -3,8 +3,20 @@ package ru.practicum.shareit.comment.domain.repo;
 import ru.practicum.shareit.comment.domain.model.Comment;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepo extends CrudRepo<Comment> {
-    List<Comment> findByItemId(Long itemId);
+    long countByItemId(Long itemId);
+
+    /**
+     * Ревизия отзывов вещи для ETag: меняется при изменении отзывов и авторов последних {@code latestSize}.
+     */
+    String findRevisionByItemId(Long itemId, int latestSize);
+
+    /**
+     * Отзывы о вещи от новых к старым, строго после курсора (created, id);
+     * без курсора - самые новые.
+     */
+    List<Comment> findByItemId(Long itemId, LocalDateTime createdBefore, Long idBefore, int size);
 }
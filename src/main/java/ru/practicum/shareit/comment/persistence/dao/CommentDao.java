@@ -1,14 +1,22 @@
 package ru.practicum.shareit.comment.persistence.dao;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.comment.domain.model.Comment;
 import ru.practicum.shareit.comment.domain.repo.CommentRepo;
 import ru.practicum.shareit.comment.persistence.entity.CommentEntity;
 import ru.practicum.shareit.comment.persistence.mapper.CommentPersistenceMapper;
 import ru.practicum.shareit.comment.persistence.repo.CommentRepository;
 import ru.practicum.shareit.common.domain.exception.NotFoundException;
+import ru.practicum.shareit.common.persistence.batch.IdBatches;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
+import ru.practicum.shareit.common.persistence.update.PartialUpdateExecutor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,35 +25,76 @@ import java.util.Optional;
 public class CommentDao implements CommentRepo {
     private final CommentRepository repository;
     private final CommentPersistenceMapper mapper;
-
+    private final PartialUpdateExecutor updates;
+    private final ItemCommentStats stats;
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.comments.read}")
     public Optional<Comment> findById(Long id) {
         return repository.findById(id)
                 .map(mapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.comments.read}")
+    public List<Comment> findAllByIds(Collection<Long> ids) {
+        return IdBatches.findAll(ids, chunk -> mapper.toDomainList(repository.findFetchedByIdIn(chunk)));
+    }
+
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.comments.write}")
     public Comment create(Comment comment) {
-        return mapper.toDomain(repository.save(mapper.toEntity(comment)));
+        Comment created = mapper.toDomain(repository.save(mapper.toEntity(comment)));
+        stats.added(created.getItem().getId());
+        return created;
     }
 
     @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.comments.write}")
     public Comment update(Comment comment) {
-        CommentEntity entity = repository.findById(comment.getId())
-                .orElseThrow(() -> new NotFoundException("user not found"));
-        mapper.updateEntityFromDomain(comment, entity);
-        return mapper.toDomain(
-                repository.save(entity));
+        PartialUpdate update = mapper.toPartialUpdate(comment);
+        if (update.hasValues() && updates.update(update) == 0) {
+            throw new NotFoundException("comment not found");
+        }
+        Comment updated = repository.findFetchedById(comment.getId())
+                .map(mapper::toDomain)
+                .orElseThrow(() -> new NotFoundException("comment not found"));
+        if (update.hasValues()) {
+            stats.changed(updated.getItem().getId());
+        }
+        return updated;
     }
 
     @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.comments.write}")
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        repository.findItemIdById(id).ifPresent(itemId -> {
+            repository.deleteById(id);
+            stats.removed(itemId);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.comments.read}")
+    public long countByItemId(Long itemId) {
+        return stats.count(itemId);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.comments.read}")
+    public String findRevisionByItemId(Long itemId, int latestSize) {
+        return stats.revision(itemId, latestSize);
     }
 
     @Override
-    public List<Comment> findByItemId(Long itemId) {
-        return mapper.toDomainList(repository.findByItemId(itemId));
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.comments.read}")
+    public List<Comment> findByItemId(Long itemId, LocalDateTime createdBefore, Long idBefore, int size) {
+        List<CommentEntity> page = createdBefore == null
+                ? repository.findLatestByItemId(itemId, Limit.of(size))
+                : repository.findFetchedByIdIn(repository.findIdsByItemIdBefore(itemId, createdBefore, idBefore,
+                        Limit.of(size))).stream()
+                .sorted(Comparator.comparing(CommentEntity::getCreated).thenComparing(CommentEntity::getId).reversed())
+                .toList();
+        return mapper.toDomainList(page);
     }
 }
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.comment.persistence.dao;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.persistence.SqlDialect;
+import ru.practicum.shareit.user.domain.UserDeletingEvent;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Счётчик отзывов в item_comment_stats. Меняется в транзакции записи отзыва на +1/-1;
+ * отзывы считаются только при создании строки счётчика. revision растёт при любом
+ * изменении отзывов вещи и входит в её ETag.
+ */
+@Component
+public class ItemCommentStats {
+    private static final String COUNT_COMMENTS = "(SELECT COUNT(*) FROM comments c WHERE c.item_id = :itemId)";
+    private static final String UPSERT_POSTGRESQL = """
+            INSERT INTO item_comment_stats (item_id, comment_count, revision) VALUES (:itemId, %s, 1)
+            ON CONFLICT (item_id) DO UPDATE SET comment_count = item_comment_stats.comment_count + 1,
+                revision = item_comment_stats.revision + 1
+            """.formatted(COUNT_COMMENTS);
+    private static final String MERGE = """
+            MERGE INTO item_comment_stats s USING (SELECT CAST(:itemId AS BIGINT) AS item_id) src
+            ON (s.item_id = src.item_id)
+            WHEN MATCHED THEN UPDATE SET comment_count = s.comment_count + 1, revision = s.revision + 1
+            WHEN NOT MATCHED THEN INSERT (item_id, comment_count, revision) VALUES (src.item_id, %s, 1)
+            """.formatted(COUNT_COMMENTS);
+    private static final String REVISION = """
+            SELECT CAST(COALESCE((SELECT s.revision FROM item_comment_stats s WHERE s.item_id = :itemId), 0) AS VARCHAR)
+                || '.' || CAST(COALESCE((SELECT SUM(u.version) FROM (
+                    SELECT c.author_id FROM comments c WHERE c.item_id = :itemId
+                    ORDER BY c.created DESC, c.id DESC
+                    LIMIT :limit) latest
+                JOIN users u ON u.id = latest.author_id), 0) AS VARCHAR)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Supplier<SqlDialect> dialect;
+
+    public ItemCommentStats(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.dialect = SqlDialect.lazy(jdbc.getJdbcTemplate());
+    }
+
+    public long count(Long itemId) {
+        List<Long> counts = jdbc.queryForList("SELECT comment_count FROM item_comment_stats WHERE item_id = :itemId",
+                new MapSqlParameterSource("itemId", itemId), Long.class);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    /**
+     * Вызывается после вставки отзыва в той же транзакции.
+     */
+    public void added(Long itemId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("itemId", itemId);
+        if (jdbc.update("UPDATE item_comment_stats SET comment_count = comment_count + 1, revision = revision + 1 "
+                + "WHERE item_id = :itemId", parameters) == 0) {
+            jdbc.update(dialect.get() == SqlDialect.POSTGRESQL ? UPSERT_POSTGRESQL : MERGE, parameters);
+        }
+    }
+
+    public void removed(Long itemId) {
+        jdbc.update("UPDATE item_comment_stats SET comment_count = comment_count - 1, revision = revision + 1 "
+                        + "WHERE item_id = :itemId AND comment_count > 0",
+                new MapSqlParameterSource("itemId", itemId));
+    }
+
+    public void changed(Long itemId) {
+        jdbc.update("UPDATE item_comment_stats SET revision = revision + 1 WHERE item_id = :itemId",
+                new MapSqlParameterSource("itemId", itemId));
+    }
+
+    /**
+     * Отзывы удаляемого пользователя уйдут каскадом мимо CommentDao: заранее снимаем их со счётчиков
+     * и сдвигаем ревизию, иначе число отзывов и ETag вещи останутся прежними.
+     */
+    @EventListener
+    public void onUserDeleting(UserDeletingEvent event) {
+        jdbc.update("""
+                        UPDATE item_comment_stats s
+                        SET comment_count = comment_count - (SELECT COUNT(*) FROM comments c
+                                WHERE c.item_id = s.item_id AND c.author_id = :userId),
+                            revision = revision + 1
+                        WHERE s.item_id IN (SELECT c.item_id FROM comments c WHERE c.author_id = :userId)
+                        """, new MapSqlParameterSource("userId", event.userId()));
+    }
+
+    /**
+     * Ревизия отзывов вещи и версии авторов последних {@code latestSize} из них: имена авторов
+     * попадают в представление вещи.
+     */
+    public String revision(Long itemId, int latestSize) {
+        return jdbc.queryForObject(REVISION,
+                new MapSqlParameterSource("itemId", itemId).addValue("limit", latestSize), String.class);
+    }
+}
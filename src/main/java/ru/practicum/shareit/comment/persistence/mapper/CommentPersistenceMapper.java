@@ -3,6 +3,7 @@ package ru.practicum.shareit.comment.persistence.mapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.comment.domain.model.Comment;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
 import ru.practicum.shareit.comment.persistence.entity.CommentEntity;
 import ru.practicum.shareit.item.domain.model.Item;
 import ru.practicum.shareit.item.persistence.entity.ItemEntity;
@@ -71,14 +72,10 @@ public class CommentPersistenceMapper {
                 .build();
     }
 
-    public void updateEntityFromDomain(Comment domain, CommentEntity entity) {
-        if (domain == null || entity == null) {
-            return;
-        }
-
-        if (domain.getText() != null) {
-            entity.setText(domain.getText());
-        }
+    public PartialUpdate toPartialUpdate(Comment domain) {
+        return PartialUpdate.table("comments")
+                .set("text", domain.getText())
+                .where("id", domain.getId());
     }
 
     public List<Comment> toDomainList(List<CommentEntity> entities) {
@@ -1,12 +1,57 @@
 package ru.practicum.shareit.comment.persistence.repo;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.comment.persistence.entity.CommentEntity;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends CrudRepository<CommentEntity, Long> {
-    List<CommentEntity> findByItemId(Long itemId);
+    @Query("""
+        SELECT c FROM CommentEntity c
+        JOIN FETCH c.item i
+        LEFT JOIN FETCH i.owner
+        JOIN FETCH c.author
+        WHERE i.id = :itemId
+        ORDER BY c.created DESC, c.id DESC
+    """)
+    List<CommentEntity> findLatestByItemId(Long itemId, Limit limit);
+
+    /**
+     * Следующая страница отзывов: сравнение строк (created, id) даёт ограниченный проход
+     * по comments_item_created_id_idx. Сами отзывы дочитываются по id через findFetchedByIdIn.
+     */
+    @Query(value = """
+        SELECT c.id FROM comments c
+        WHERE c.item_id = :itemId
+          AND (c.created, c.id) < (:createdBefore, :idBefore)
+        ORDER BY c.created DESC, c.id DESC
+    """, nativeQuery = true)
+    List<Long> findIdsByItemIdBefore(Long itemId, LocalDateTime createdBefore, Long idBefore, Limit limit);
+
+    @Query("SELECT c.item.id FROM CommentEntity c WHERE c.id = :id")
+    Optional<Long> findItemIdById(Long id);
+
+    @Query("""
+        SELECT c FROM CommentEntity c
+        JOIN FETCH c.item
+        JOIN FETCH c.author
+        WHERE c.id = :id
+    """)
+    Optional<CommentEntity> findFetchedById(Long id);
+
+    @Query("""
+        SELECT c FROM CommentEntity c
+        JOIN FETCH c.item i
+        LEFT JOIN FETCH i.owner
+        JOIN FETCH c.author
+        WHERE c.id IN :ids
+    """)
+    List<CommentEntity> findFetchedByIdIn(Collection<Long> ids);
 }
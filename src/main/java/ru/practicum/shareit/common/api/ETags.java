@@ -0,0 +1,21 @@
+package ru.practicum.shareit.common.api;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Сильные ETag из ревизий строк БД. Ревизия читается до загрузки объекта, поэтому тег
+ * может отставать от тела ответа, но не опережать его: в худшем случае клиент получит лишний 200.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(String resource, long id, String revision) {
+        return "\"" + resource + "-" + id + "-" + revision + "\"";
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String etag) {
+        return etag == null ? ResponseEntity.ok(body) : ResponseEntity.ok().eTag(etag).body(body);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.common.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Пишет JSON-массив прямо в тело ответа по мере того, как источник отдаёт элементы.
+ * Для ответов с побочными словарями массив кладётся в поле объекта, а словари
+ * дописываются после него, когда источник исчерпан, поэтому могут наполняться по ходу обхода.
+ * Запись идёт в потоке запроса, поэтому фильтры, счётчик SQL и транзакция источника
+ * видят её как обычный синхронный обработчик. При ошибке документ не дописывается: пока ответ
+ * не отправлен, он сбрасывается и ошибка обрабатывается как обычно, а после первого сброса буфера
+ * соединение обрывается через {@link ResponseAbortedException}, чтобы клиент не принял обрезанный
+ * массив за полный.
+ */
+@Component
+public class JsonArrayWriter {
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter elementWriter;
+
+    public JsonArrayWriter(ObjectMapper objectMapper) {
+        // закрытие генератора не должно ни дописывать скобки за оборванным документом, ни закрывать поток ответа
+        this.objectMapper = objectMapper.copy()
+                .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT.mappedFeature())
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET.mappedFeature());
+        // сброс после каждого элемента дал бы по TCP-пакету на строку; буфер генератора сбрасывается сам
+        this.elementWriter = this.objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public <V> void write(HttpServletResponse response, Function<V, ?> mapper,
+                          Consumer<Consumer<V>> source) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        try {
+            generator.writeStartArray();
+            source.accept(value -> writeElement(generator, mapper.apply(value)));
+            generator.writeEndArray();
+        } catch (IOException | RuntimeException e) {
+            throw abort(response, e);
+        }
+        generator.close();
+    }
+
+    public <V> void writeObject(HttpServletResponse response, String arrayField, Function<V, ?> mapper,
+                                Consumer<Consumer<V>> source, Map<String, ?> trailer) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        try {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(arrayField);
+            source.accept(value -> writeElement(generator, mapper.apply(value)));
+            generator.writeEndArray();
+            for (Map.Entry<String, ?> field : trailer.entrySet()) {
+                generator.writeFieldName(field.getKey());
+                writeElement(generator, field.getValue());
+            }
+            generator.writeEndObject();
+        } catch (IOException | RuntimeException e) {
+            throw abort(response, e);
+        }
+        generator.close();
+    }
+
+    /**
+     * Недописанный буфер генератора выбрасывается вместе с ним. Неотправленный ответ сбрасывается,
+     * и исходная ошибка уходит обработчику исключений; отправленный обрывается.
+     */
+    private static RuntimeException abort(HttpServletResponse response, Exception e) throws IOException {
+        if (!response.isCommitted()) {
+            response.reset();
+            if (e instanceof IOException io) {
+                throw io;
+            }
+            return (RuntimeException) e;
+        }
+        return new ResponseAbortedException("Ответ оборван после начала отправки", e);
+    }
+
+    private void writeElement(JsonGenerator generator, Object element) {
+        try {
+            elementWriter.writeValue(generator, element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
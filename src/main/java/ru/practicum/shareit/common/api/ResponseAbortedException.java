@@ -0,0 +1,11 @@
+package ru.practicum.shareit.common.api;
+
+/**
+ * Ошибка после того, как часть ответа уже ушла клиенту: код ответа изменить нельзя,
+ * поэтому исключение уходит в контейнер, и тот рвёт соединение без завершающего блока.
+ */
+public class ResponseAbortedException extends RuntimeException {
+    public ResponseAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -8,5 +8,7 @@ public record ErrorResponse(
 
         int status,
 
+        String code,
+
         @JsonProperty("description")
         String detail, String path) { }
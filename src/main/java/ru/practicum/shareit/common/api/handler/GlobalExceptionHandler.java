@@ -1,41 +1,86 @@
 package ru.practicum.shareit.common.api.handler;
 
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.common.api.ResponseAbortedException;
 import ru.practicum.shareit.common.domain.exception.DataConflictException;
+import ru.practicum.shareit.common.domain.exception.DomainException;
 import ru.practicum.shareit.common.domain.exception.NotFoundException;
 import ru.practicum.shareit.common.domain.exception.ValidationException;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorResponse> notFound(NotFoundException ex, HttpServletRequest req) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(body(HttpStatus.NOT_FOUND, "Object not found", ex.getMessage(), req));
+        return domain(HttpStatus.NOT_FOUND, "Object not found", ex, req);
     }
 
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ErrorResponse> notFound(ValidationException ex, HttpServletRequest req) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(body(HttpStatus.BAD_REQUEST, "Data invalid", ex.getMessage(), req));
+        return domain(HttpStatus.BAD_REQUEST, "Data invalid", ex, req);
     }
 
     @ExceptionHandler(DataConflictException.class)
     public ResponseEntity<ErrorResponse> notFound(DataConflictException ex, HttpServletRequest req) {
+        return domain(HttpStatus.CONFLICT, "Data conflicts", ex, req);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> optimisticLock(OptimisticLockingFailureException ex, HttpServletRequest req) {
+        log.debug("{} {} -> 409: {}", req.getMethod(), req.getRequestURI(), ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body(body(HttpStatus.CONFLICT, "Data conflicts", ex.getMessage(), req));
+                .body(body(HttpStatus.CONFLICT, "Data conflicts", "DATA_CONFLICT",
+                        "Object was modified concurrently", req));
+    }
+
+    @ExceptionHandler({TransientDataAccessException.class, DataAccessResourceFailureException.class,
+            CannotCreateTransactionException.class, TransactionTimedOutException.class})
+    public ResponseEntity<ErrorResponse> unavailable(Exception ex, HttpServletRequest req) {
+        log.warn("{} {} -> 503: {}", req.getMethod(), req.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body(HttpStatus.SERVICE_UNAVAILABLE, "Service overloaded", "UNAVAILABLE",
+                        "Try again later", req));
+    }
+
+    /**
+     * Часть ответа уже отправлена: исключение пробрасывается в контейнер, чтобы тот оборвал соединение,
+     * а не дописал тело ошибки за обрезанным JSON.
+     */
+    @ExceptionHandler(ResponseAbortedException.class)
+    public void aborted(ResponseAbortedException ex, HttpServletRequest req) {
+        log.warn("{} {} -> aborted: {}", req.getMethod(), req.getRequestURI(), ex.getCause().toString());
+        throw ex;
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> fallback(Exception ex, HttpServletRequest req) {
+        log.error("{} {} -> 500", req.getMethod(), req.getRequestURI(), ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(body(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", "Internal error", req));
+                .body(body(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", "INTERNAL_ERROR",
+                        "Internal error", req));
+    }
+
+    private ResponseEntity<ErrorResponse> domain(HttpStatus s, String title, DomainException ex,
+                                                 HttpServletRequest req) {
+        log.debug("{} {} -> {} {}: {}", req.getMethod(), req.getRequestURI(), s.value(), ex.getCode(),
+                ex.getMessage());
+        return ResponseEntity.status(s)
+                .body(body(s, title, ex.getCode(), ex.getMessage(), req));
     }
 
-    private ErrorResponse body(HttpStatus s, String title, String detail, HttpServletRequest req) {
-        return new ErrorResponse(title, s.value(), detail, req.getRequestURI());
+    private ErrorResponse body(HttpStatus s, String title, String code, String detail, HttpServletRequest req) {
+        return new ErrorResponse(title, s.value(), code, detail, req.getRequestURI());
     }
 }
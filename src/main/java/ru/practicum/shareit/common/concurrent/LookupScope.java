@@ -0,0 +1,118 @@
+package ru.practicum.shareit.common.concurrent;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Набор независимых поисков, запущенных параллельно. Повторяет семантику
+ * StructuredTaskScope.ShutdownOnFailure: первая ошибка или истёкший срок отменяют остальные задачи.
+ */
+public final class LookupScope implements AutoCloseable {
+    private final Executor executor;
+    private final TaskDecorator decorator;
+    private final long deadlineNanos;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private final BlockingQueue<Subtask<?>> completed = new LinkedBlockingQueue<>();
+
+    LookupScope(Executor executor, TaskDecorator decorator, Duration timeout) {
+        this.executor = executor;
+        this.decorator = decorator;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public <T> Supplier<T> fork(Callable<T> task) {
+        Subtask<T> subtask = new Subtask<>(task);
+        subtasks.add(subtask);
+        executor.execute(decorator.decorate(subtask));
+        return subtask::result;
+    }
+
+    public void join() {
+        try {
+            for (int i = 0; i < subtasks.size(); i++) {
+                Subtask<?> done = completed.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    cancelAll();
+                    throw new QueryTimeoutException("Lookups did not complete in time");
+                }
+                Throwable failure = done.failure();
+                if (failure != null) {
+                    cancelAll();
+                    throw propagate(failure);
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lookups", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        subtasks.forEach(subtask -> subtask.cancel(true));
+    }
+
+    private static RuntimeException propagate(Throwable failure) {
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(failure);
+    }
+
+    private final class Subtask<T> extends FutureTask<T> {
+        Subtask(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        protected void done() {
+            completed.offer(this);
+        }
+
+        Throwable failure() {
+            try {
+                get();
+                return null;
+            } catch (ExecutionException e) {
+                return e.getCause();
+            } catch (CancellationException | InterruptedException e) {
+                return e;
+            }
+        }
+
+        T result() {
+            if (!isDone()) {
+                throw new IllegalStateException("join() must be called before reading lookup results");
+            }
+            try {
+                return get();
+            } catch (ExecutionException e) {
+                throw propagate(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.common.concurrent;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class ParallelLookups implements DisposableBean {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TaskDecorator decorator;
+    private final Duration timeout;
+
+    public ParallelLookups(ObjectProvider<TaskDecorator> decorators,
+                           @Value("${shareit.lookup.timeout}") Duration timeout) {
+        this.decorator = decorators.orderedStream()
+                .reduce((first, second) -> task -> first.decorate(second.decorate(task)))
+                .orElse(task -> task);
+        this.timeout = timeout;
+    }
+
+    public LookupScope open() {
+        return new LookupScope(executor, decorator, timeout);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.common.concurrent;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи приложения; в профиле seed выключены, чтобы процесс наполнения завершался сам
+ * и пересчёты не шли поверх недописанных таблиц.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "shareit.scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
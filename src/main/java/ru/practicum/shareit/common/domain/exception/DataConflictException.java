@@ -1,7 +1,12 @@
 package ru.practicum.shareit.common.domain.exception;
 
-public class DataConflictException extends RuntimeException {
+public class DataConflictException extends DomainException {
     public DataConflictException(String message) {
         super(message);
     }
+
+    @Override
+    public String getCode() {
+        return "DATA_CONFLICT";
+    }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.common.domain.exception;
+
+/**
+ * Ошибка предметной области, бросаемая на обычных путях запроса.
+ * Стек не собирается: он не нужен для ответа клиенту, а его захват дорог.
+ * Включается системным свойством -Dshareit.exceptions.stack-traces=true.
+ */
+public abstract class DomainException extends RuntimeException {
+    private static final boolean STACK_TRACES = Boolean.getBoolean("shareit.exceptions.stack-traces");
+
+    protected DomainException(String message) {
+        super(message, null, false, STACK_TRACES);
+    }
+
+    public abstract String getCode();
+}
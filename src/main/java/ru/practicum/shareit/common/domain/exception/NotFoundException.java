@@ -1,7 +1,12 @@
 package ru.practicum.shareit.common.domain.exception;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends DomainException {
     public NotFoundException(String message) {
         super(message);
     }
+
+    @Override
+    public String getCode() {
+        return "NOT_FOUND";
+    }
 }
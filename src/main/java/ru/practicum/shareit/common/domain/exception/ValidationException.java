@@ -1,7 +1,12 @@
 package ru.practicum.shareit.common.domain.exception;
 
-public class ValidationException extends RuntimeException {
+public class ValidationException extends DomainException {
     public ValidationException(String message) {
         super(message);
     }
+
+    @Override
+    public String getCode() {
+        return "VALIDATION_FAILED";
+    }
 }
@@ -1,12 +1,20 @@
 package ru.practicum.shareit.common.domain.repo;
 
 import ru.practicum.shareit.common.domain.model.Model;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CrudRepo<M extends Model> {
 
     Optional<M> findById(Long id);
 
+    /**
+     * Модели в порядке переданных id; отсутствующие и повторные id пропускаются.
+     */
+    List<M> findAllByIds(Collection<Long> ids);
+
     M create(M item);
 
     M update(M item);
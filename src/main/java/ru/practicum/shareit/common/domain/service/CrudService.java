@@ -2,10 +2,15 @@ package ru.practicum.shareit.common.domain.service;
 
 import ru.practicum.shareit.common.domain.model.Model;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CrudService<M extends Model> {
 
     M findById(Long id);
 
+    List<M> findAllByIds(Collection<Long> ids);
+
     M save(M item);
 
     void deleteById(Long id);
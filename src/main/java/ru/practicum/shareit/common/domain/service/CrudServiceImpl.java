@@ -5,9 +5,12 @@ import ru.practicum.shareit.common.domain.exception.ValidationException;
 import ru.practicum.shareit.common.domain.model.Model;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 public abstract class CrudServiceImpl<M extends Model> implements CrudService<M> {
+    public static final int MAX_BULK_IDS = 1000;
 
     @Override
     public M findById(Long id) {
@@ -15,6 +18,17 @@ public abstract class CrudServiceImpl<M extends Model> implements CrudService<M>
         return getRepo().findById(id).orElseThrow(() -> new NotFoundException("Не найдено"));
     }
 
+    @Override
+    public List<M> findAllByIds(Collection<Long> ids) {
+        if (Objects.isNull(ids) || ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new ValidationException("Слишком много id, максимум " + MAX_BULK_IDS);
+        }
+        return getRepo().findAllByIds(ids);
+    }
+
     @Override
     public M save(M item) {
         validate(item);
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.common.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Потокобезопасный счётный фильтр Блума для строк: 4-битные счётчики, по 16 в одном long.
+ * {@link #mightContain} = false означает, что строка точно не добавлялась; true - возможно добавлялась.
+ * Насыщенный счётчик (15) больше не уменьшается, поэтому удаление не даёт ложноотрицательных ответов.
+ */
+public final class CountingBloomFilter {
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long MAX_COUNT = 15;
+
+    private final AtomicLongArray words;
+    private final long size;
+    private final int hashes;
+
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Некорректные параметры фильтра");
+        }
+        double ln2 = Math.log(2);
+        long counters = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = Math.toIntExact((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+        this.words = new AtomicLongArray(wordCount);
+        this.size = (long) wordCount * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) size / expectedInsertions * ln2));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            increment(index(hash, i));
+        }
+    }
+
+    public void remove(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            decrement(index(hash, i));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            if (count(index(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0L);
+        }
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    private long count(long index) {
+        return (words.get((int) (index / COUNTERS_PER_WORD)) >>> shift(index)) & MAX_COUNT;
+    }
+
+    private void increment(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            if (((current >>> shift) & MAX_COUNT) == MAX_COUNT) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current + (1L << shift)));
+    }
+
+    private void decrement(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == 0 || count == MAX_COUNT) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current - (1L << shift)));
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * 4;
+    }
+
+    /**
+     * Двойное хеширование: i-й индекс = h1 + i * h2 по модулю размера.
+     */
+    private long index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod((long) h1 + (long) i * h2, size);
+    }
+
+    /**
+     * FNV-1a по UTF-8 байтам с финальным перемешиванием из SplitMix64.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -3,10 +3,12 @@ package ru.practicum.shareit.common.memory;
 import ru.practicum.shareit.common.domain.model.Model;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class CrudInMemoryStorage<M extends Model> implements CrudRepo<M> {
-    protected final Map<Long, M> items = new HashMap<>();
-    private Long idSequence = 1L;
+    protected final Map<Long, M> items = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong(1L);
 
     @Override
     public Optional<M> findById(Long id) {
@@ -17,11 +19,21 @@ public abstract class CrudInMemoryStorage<M extends Model> implements CrudRepo<M
     }
 
      @Override
+    public List<M> findAllByIds(Collection<Long> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
     public M create(M item) {
         if (item == null) {
             throw new IllegalArgumentException("Item cannot be null");
         }
-        Long newId = idSequence++;
+        Long newId = idSequence.getAndIncrement();
         M newItem = createCopy(item, newId);
         items.put(newId, newItem);
         return newItem;
@@ -32,12 +44,11 @@ public abstract class CrudInMemoryStorage<M extends Model> implements CrudRepo<M
         if (item == null || item.getId() == null) {
             throw new IllegalArgumentException("Item and item ID cannot be null");
         }
-        if (!items.containsKey(item.getId())) {
+        M updatedItem = items.computeIfPresent(item.getId(),
+                (id, existingItem) -> createCopyWithPartialUpdate(item, existingItem));
+        if (updatedItem == null) {
             throw new NoSuchElementException("Item with id " + item.getId() + " not found");
         }
-        M existingItem = items.get(item.getId());
-        M updatedItem = createCopyWithPartialUpdate(item, existingItem);
-        items.put(updatedItem.getId(), updatedItem);
         return updatedItem;
     }
 
@@ -46,6 +57,13 @@ public abstract class CrudInMemoryStorage<M extends Model> implements CrudRepo<M
         items.remove(id);
     }
 
+    /**
+     * Ревизия для ETag - хэш полей хранимой модели.
+     */
+    public Optional<String> findRevision(Long id) {
+        return findById(id).map(model -> Integer.toHexString(model.hashCode()));
+    }
+
     public void deleteAll() {
         items.clear();
     }
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время выполнения методов сервисов и репозиториев (теги class, method, outcome, exception)
+ * и число строк, возвращённых списочными запросами репозиториев.
+ * Вызовы репозиториев дополнительно пишутся в JFR событием {@code ru.practicum.shareit.RepositoryCall}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class CrudMetricsAspect {
+    public static final String SERVICE_TIMER = "shareit.service";
+    public static final String REPOSITORY_TIMER = "shareit.repository";
+    public static final String REPOSITORY_ROWS = "shareit.repository.rows";
+
+    private final MeterRegistry registry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<RowsKey, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ru.practicum.shareit.common.domain.service.CrudService+.*(..))")
+    public Object service(ProceedingJoinPoint pjp) throws Throwable {
+        return measure(SERVICE_TIMER, pjp, false);
+    }
+
+    @Around("execution(public * ru.practicum.shareit.common.domain.repo.CrudRepo+.*(..))")
+    public Object repository(ProceedingJoinPoint pjp) throws Throwable {
+        return measure(REPOSITORY_TIMER, pjp, true);
+    }
+
+    private Object measure(String metric, ProceedingJoinPoint pjp, boolean countRows) throws Throwable {
+        String type = pjp.getTarget().getClass().getSimpleName();
+        String method = pjp.getSignature().getName();
+        long start = System.nanoTime();
+        String exception = "none";
+        int size = -1;
+        RepositoryCallEvent event = countRows ? new RepositoryCallEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        try {
+            Object result = pjp.proceed();
+            if (countRows && result instanceof Collection<?> collection) {
+                size = collection.size();
+                rows.computeIfAbsent(new RowsKey(type, method), key -> DistributionSummary.builder(REPOSITORY_ROWS)
+                                .baseUnit("rows")
+                                .tag("class", key.type())
+                                .tag("method", key.method())
+                                .register(registry))
+                        .record(size);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (event != null) {
+                event.finish(type, method, size, "none".equals(exception) ? "SUCCESS" : exception);
+            }
+            timers.computeIfAbsent(new TimerKey(metric, type, method, exception), key -> Timer.builder(key.metric())
+                            .tag("class", key.type())
+                            .tag("method", key.method())
+                            .tag("outcome", "none".equals(key.exception()) ? "SUCCESS" : "ERROR")
+                            .tag("exception", key.exception())
+                            .register(registry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record TimerKey(String metric, String type, String method, String exception) { }
+
+    private record RowsKey(String type, String method) { }
+}
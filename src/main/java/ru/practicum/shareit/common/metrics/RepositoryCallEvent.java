@@ -0,0 +1,39 @@
+package ru.practicum.shareit.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ru.practicum.shareit.RepositoryCall")
+@Label("Repository Call")
+@Category({"ShareIt", "Persistence"})
+@Description("Вызов метода репозитория (DAO или хранилища в памяти)")
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    @Description("Размер возвращённой коллекции, -1 если результат не коллекция")
+    int rows;
+
+    @Label("Outcome")
+    String outcome;
+
+    void finish(String repository, String method, int rows, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.method = method;
+            this.rows = rows;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.common.persistence;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.util.function.Supplier;
+
+/**
+ * СУБД, для которой нужны отдельные формы SQL (RETURNING, upsert).
+ */
+public enum SqlDialect {
+    POSTGRESQL, H2, OTHER;
+
+    public static SqlDialect of(JdbcOperations jdbc) {
+        String product = jdbc.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        return switch (product == null ? "" : product) {
+            case "PostgreSQL" -> POSTGRESQL;
+            case "H2" -> H2;
+            default -> OTHER;
+        };
+    }
+
+    /**
+     * Определяет СУБД при первом обращении и запоминает результат.
+     */
+    public static Supplier<SqlDialect> lazy(JdbcOperations jdbc) {
+        return new Supplier<>() {
+            private volatile SqlDialect dialect;
+
+            @Override
+            public SqlDialect get() {
+                SqlDialect current = dialect;
+                if (current == null) {
+                    current = of(jdbc);
+                    dialect = current;
+                }
+                return current;
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.common.persistence.batch;
+
+import ru.practicum.shareit.common.domain.model.Model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Выборка по списку id запросами {@code WHERE id IN (...)} не длиннее {@link #CHUNK_SIZE}:
+ * число параметров остаётся ограниченным, а с {@code in_clause_parameter_padding} - и число разных планов.
+ */
+public final class IdBatches {
+    public static final int CHUNK_SIZE = 500;
+
+    private IdBatches() {
+    }
+
+    /**
+     * Результат в порядке переданных id, без повторов и без отсутствующих строк.
+     */
+    public static <M extends Model> List<M> findAll(Collection<Long> ids, Function<List<Long>, List<M>> query) {
+        List<Long> distinct = distinct(ids);
+        Map<Long, M> found = new HashMap<>(distinct.size() * 2);
+        queryAll(distinct, query).forEach(model -> found.put(model.getId(), model));
+        return distinct.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Объединённые результаты запросов по частям списка id, без упорядочивания.
+     */
+    public static <T> List<T> queryAll(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        List<Long> distinct = distinct(ids);
+        List<T> rows = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+            rows.addAll(query.apply(distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size()))));
+        }
+        return rows;
+    }
+
+    private static List<Long> distinct(Collection<Long> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.common.persistence.routing;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
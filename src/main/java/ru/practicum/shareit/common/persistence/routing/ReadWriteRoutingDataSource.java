@@ -0,0 +1,56 @@
+package ru.practicum.shareit.common.persistence.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Отправляет read-only транзакции на реплику, остальное на primary.
+ * Должен оборачиваться в LazyConnectionDataSourceProxy, иначе соединение берётся до того,
+ * как транзакция помечена read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaHealthMonitor replicaHealth;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaHealthMonitor replicaHealth, ReadYourWritesTracker readYourWrites) {
+        this.replicaHealth = replicaHealth;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected DataSourceRole determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWrite();
+            return DataSourceRole.PRIMARY;
+        }
+        if (!replicaHealth.isAvailable() || readYourWrites.hasRecentWrite()) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSourceRole role = determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(role);
+        if (role == DataSourceRole.PRIMARY) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            replicaHealth.markUnavailable(e);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.common.persistence.routing;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker {
+    private final ThreadLocal<Long> currentUser = new ThreadLocal<>();
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void bind(Long userId) {
+        currentUser.set(userId);
+    }
+
+    public Long currentUser() {
+        return currentUser.get();
+    }
+
+    public void clear() {
+        currentUser.remove();
+    }
+
+    public Runnable propagate(Runnable task) {
+        Long userId = currentUser.get();
+        return () -> {
+            Long previous = currentUser.get();
+            currentUser.set(userId);
+            try {
+                task.run();
+            } finally {
+                currentUser.set(previous);
+            }
+        };
+    }
+
+    public void recordWrite() {
+        Long userId = currentUser.get();
+        if (userId != null) {
+            lastWrites.put(userId, System.nanoTime());
+        }
+    }
+
+    public boolean hasRecentWrite() {
+        Long userId = currentUser.get();
+        if (userId == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(userId);
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.routing.health-check-interval:PT5S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+}
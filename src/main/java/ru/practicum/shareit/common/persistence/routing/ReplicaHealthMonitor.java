@@ -0,0 +1,47 @@
+package ru.practicum.shareit.common.persistence.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class ReplicaHealthMonitor {
+    private final DataSource replica;
+    private final int timeoutSeconds;
+    private final AtomicBoolean available = new AtomicBoolean(true);
+
+    public ReplicaHealthMonitor(DataSource replica, Duration timeout) {
+        this.replica = replica;
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+
+    public void markUnavailable(SQLException cause) {
+        if (available.compareAndSet(true, false)) {
+            log.warn("Replica marked unavailable, reads go to primary: {}", cause.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.routing.health-check-interval:PT5S}")
+    public void check() {
+        boolean valid;
+        try (Connection connection = replica.getConnection()) {
+            valid = connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            valid = false;
+        }
+        if (valid && available.compareAndSet(false, true)) {
+            log.info("Replica is available again, read-only transactions are routed to it");
+        } else if (!valid && available.compareAndSet(true, false)) {
+            log.warn("Replica health check failed, reads go to primary");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.common.persistence.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.datasource.routing")
+public class RoutingProperties {
+    /**
+     * Сколько ждать ответа реплики при проверке здоровья.
+     */
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Сколько после записи читать данные пользователя с primary, чтобы он видел свои изменения.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
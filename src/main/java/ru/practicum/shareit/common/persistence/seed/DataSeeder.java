@@ -0,0 +1,147 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.domain.model.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Заполняет базу синтетическими данными в обход REST API.
+ * Id назначаются явно, начиная с текущего максимума, поэтому связи известны без чтения из базы,
+ * а повторный запуск дописывает данные. После записи счётчики identity сдвигаются за новые id.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataSeeder implements ApplicationRunner {
+    private static final String[] THINGS = {"дрель", "перфоратор", "шуруповёрт", "пила", "лобзик", "лестница",
+            "палатка", "спальник", "рюкзак", "велосипед", "самокат", "лодка", "удочка", "проектор", "колонка",
+            "мангал", "газонокосилка", "пылесос", "камера", "штатив"};
+    private static final String[] TRAITS = {"новый", "мощный", "лёгкий", "компактный", "профессиональный",
+            "детский", "складной", "аккумуляторный", "туристический", "почти новый"};
+    private static final String[] NAMES = {"Анна", "Иван", "Мария", "Пётр", "Ольга", "Сергей", "Елена", "Дмитрий",
+            "Наталья", "Алексей"};
+    private static final String[] REVIEWS = {"Всё отлично, спасибо", "Работает как надо", "Немного потёрт, но исправен",
+            "Хозяин пунктуален", "Рекомендую", "Пришлось повозиться с настройкой"};
+
+    private final JdbcTemplate jdbc;
+    private final SeedWriter writer;
+    private final SeedProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed();
+    }
+
+    public void seed() {
+        LocalDateTime now = properties.getReferenceTime() != null
+                ? properties.getReferenceTime()
+                : LocalDate.now().atStartOfDay();
+        long users = properties.getUsers();
+        long requests = properties.getRequests();
+        long items = properties.getItems();
+
+        long userBase = nextId("users");
+        long requestBase = nextId("requests");
+        long itemBase = nextId("items");
+
+        SplittableRandom userRandom = random(1);
+        write("users", List.of("name", "email"), userBase, users, id -> new Object[]{
+                pick(userRandom, NAMES) + " " + id,
+                "user" + id + "@seed.shareit"});
+
+        SplittableRandom requestRandom = random(2);
+        write("requests", List.of("description", "requester_id", "created"), requestBase, requests, id -> new Object[]{
+                "Ищу " + pick(requestRandom, THINGS),
+                userBase + requestRandom.nextLong(users),
+                now.minusMinutes(requestRandom.nextLong(365L * 24 * 60))});
+
+        SplittableRandom itemRandom = random(3);
+        write("items", List.of("name", "description", "is_available", "owner_id", "request_id"), itemBase, items,
+                id -> {
+                    String thing = pick(itemRandom, THINGS);
+                    return new Object[]{
+                            thing + " " + pick(itemRandom, TRAITS),
+                            "Сдаю " + thing + ", " + pick(itemRandom, TRAITS),
+                            itemRandom.nextInt(10) != 0,
+                            userBase + skewed(itemRandom, users, properties.getOwnerSkew()),
+                            requests > 0 && itemRandom.nextInt(20) == 0
+                                    ? requestBase + itemRandom.nextLong(requests)
+                                    : null};
+                });
+
+        SplittableRandom bookingRandom = random(4);
+        write("bookings", List.of("start_date", "end_date", "item_id", "booker_id", "created", "status"),
+                nextId("bookings"), properties.getBookings(), id -> {
+                    LocalDateTime start = now.minusDays(730).plusHours(bookingRandom.nextLong(910L * 24));
+                    LocalDateTime end = start.plusDays(bookingRandom.nextInt(1, 15));
+                    return new Object[]{
+                            start,
+                            end,
+                            itemBase + skewed(bookingRandom, items, properties.getItemPopularitySkew()),
+                            userBase + bookingRandom.nextLong(users),
+                            start.minusDays(bookingRandom.nextInt(1, 31)),
+                            status(bookingRandom, start, end, now).name()};
+                });
+
+        SplittableRandom commentRandom = random(5);
+        write("comments", List.of("item_id", "author_id", "text", "created"), nextId("comments"),
+                properties.getComments(), id -> new Object[]{
+                        itemBase + skewed(commentRandom, items, properties.getItemPopularitySkew()),
+                        userBase + commentRandom.nextLong(users),
+                        pick(commentRandom, REVIEWS),
+                        now.minusMinutes(commentRandom.nextLong(365L * 24 * 60))});
+
+        for (String table : List.of("users", "requests", "items", "bookings", "comments")) {
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+        }
+    }
+
+    private void write(String table, List<String> columns, long firstId, long count, SeedRow row) {
+        if (count <= 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        writer.write(table, columns, firstId, count, row);
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("{}: {} строк за {} мс ({} строк/с)", table, count, millis, count * 1000 / millis);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private SplittableRandom random(int stream) {
+        return new SplittableRandom(properties.getRandomSeed() * 31 + stream);
+    }
+
+    /**
+     * Индекс в [0, n), смещённый к началу: доля первых k% выборок растёт с показателем skew.
+     */
+    private static long skewed(SplittableRandom random, long n, double skew) {
+        return Math.min(n - 1, (long) (n * Math.pow(random.nextDouble(), skew)));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static BookingStatus status(SplittableRandom random, LocalDateTime start, LocalDateTime end,
+                                        LocalDateTime now) {
+        int roll = random.nextInt(100);
+        if (end.isBefore(now)) {
+            return roll < 85 ? BookingStatus.APPROVED : roll < 95 ? BookingStatus.REJECTED : BookingStatus.CANCELED;
+        }
+        if (start.isAfter(now)) {
+            return roll < 40 ? BookingStatus.WAITING : roll < 90 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        }
+        return BookingStatus.APPROVED;
+    }
+}
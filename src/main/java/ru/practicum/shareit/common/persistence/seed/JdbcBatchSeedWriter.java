@@ -0,0 +1,34 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class JdbcBatchSeedWriter implements SeedWriter {
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+
+    @Override
+    public void write(String table, List<String> columns, long firstId, long count, SeedRow row) {
+        String sql = "INSERT INTO " + table + " (id, " + String.join(", ", columns) + ") VALUES ("
+                + "?, ".repeat(columns.size()) + "?)";
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = firstId; id < firstId + count; id++) {
+            Object[] values = row.values(id);
+            Object[] args = new Object[values.length + 1];
+            args[0] = id;
+            System.arraycopy(values, 0, args, 1, values.length);
+            batch.add(args);
+            if (batch.size() == batchSize) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Запись через COPY ... FROM STDIN в формате CSV: на порядок быстрее пакетных INSERT.
+ */
+@RequiredArgsConstructor
+public class PgCopySeedWriter implements SeedWriter {
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public void write(String table, List<String> columns, long firstId, long count, SeedRow row) {
+        String sql = "COPY " + table + " (id, " + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        jdbc.execute((ConnectionCallback<Void>) con -> {
+            CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+                for (long id = firstId; id < firstId + count; id++) {
+                    buffer.append(id);
+                    for (Object value : row.values(id)) {
+                        buffer.append(',');
+                        appendCsv(buffer, value);
+                    }
+                    buffer.append('\n');
+                    if (buffer.length() >= FLUSH_THRESHOLD) {
+                        flush(copy, buffer);
+                    }
+                }
+                flush(copy, buffer);
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void flush(CopyIn copy, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendCsv(StringBuilder buffer, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String s) {
+            buffer.append('"').append(s.replace("\"", "\"\"")).append('"');
+        } else {
+            buffer.append(value);
+        }
+    }
+}
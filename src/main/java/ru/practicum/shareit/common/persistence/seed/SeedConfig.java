@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Генерация тестовых данных, запускается профилем seed.
+ */
+@Configuration
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+public class SeedConfig {
+
+    @Bean
+    public SeedWriter seedWriter(JdbcTemplate jdbc, SeedProperties properties) {
+        String product = jdbc.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (properties.isCopy() && "PostgreSQL".equals(product)) {
+            return new PgCopySeedWriter(jdbc);
+        }
+        return new JdbcBatchSeedWriter(jdbc, properties.getBatchSize());
+    }
+
+    @Bean
+    public DataSeeder dataSeeder(JdbcTemplate jdbc, SeedWriter seedWriter, SeedProperties properties) {
+        return new DataSeeder(jdbc, seedWriter, properties);
+    }
+}
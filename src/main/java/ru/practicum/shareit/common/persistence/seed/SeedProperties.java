@@ -0,0 +1,48 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.seed")
+public class SeedProperties {
+    /**
+     * Зерно генератора: при одинаковых настройках получаются одинаковые данные.
+     */
+    private long randomSeed = 42;
+
+    private long users = 10_000;
+    private long requests = 5_000;
+    private long items = 100_000;
+    private long bookings = 1_000_000;
+    private long comments = 200_000;
+
+    /**
+     * Размер пакета при записи через JDBC batch.
+     */
+    private int batchSize = 5_000;
+
+    /**
+     * Писать через COPY, если база — PostgreSQL.
+     */
+    private boolean copy = true;
+
+    /**
+     * Перекос распределения вещей по владельцам: чем больше, тем больше вещей у первых владельцев.
+     */
+    private double ownerSkew = 3.0;
+
+    /**
+     * Перекос популярности вещей для бронирований и отзывов.
+     */
+    private double itemPopularitySkew = 2.0;
+
+    /**
+     * Момент, от которого отсчитываются даты бронирований; по умолчанию начало текущего дня.
+     */
+    private LocalDateTime referenceTime;
+}
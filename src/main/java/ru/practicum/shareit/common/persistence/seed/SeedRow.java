@@ -0,0 +1,9 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+/**
+ * Значения колонок строки с заданным id (без самого id).
+ */
+@FunctionalInterface
+public interface SeedRow {
+    Object[] values(long id);
+}
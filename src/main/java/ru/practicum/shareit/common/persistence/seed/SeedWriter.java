@@ -0,0 +1,10 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+import java.util.List;
+
+public interface SeedWriter {
+    /**
+     * Записывает count строк с id начиная с firstId; первая колонка таблицы всегда id.
+     */
+    void write(String table, List<String> columns, long firstId, long count, SeedRow row);
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Снимает обобщённый план медленного запроса в фоне: запрос готовится через PREPARE и объясняется
+ * с plan_cache_mode = force_generic_plan, поэтому значения параметров не нужны (PostgreSQL 12+).
+ * Очередь ограничена: при всплеске медленных запросов лишние планы не снимаются.
+ * Подготовленный оператор живёт в сессии и не откатывается вместе с транзакцией,
+ * поэтому снимается явно: иначе соединение вернётся в пул с занятым именем.
+ */
+@Slf4j
+public class QueryPlanCapture implements Consumer<SlowQuery>, AutoCloseable {
+    private static final String STATEMENT = "shareit_explain";
+
+    private final DataSource dataSource;
+    private final SlowQueryLog slowQueries;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), Thread.ofVirtual().name("query-plan").factory(),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public QueryPlanCapture(DataSource dataSource, SlowQueryLog slowQueries) {
+        this.dataSource = dataSource;
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public void accept(SlowQuery query) {
+        if (query.sql() == null || !query.sql().trim().regionMatches(true, 0, "select", 0, 6)) {
+            return;
+        }
+        executor.execute(() -> slowQueries.attachPlan(query.id(), explain(query.sql())));
+    }
+
+    private String explain(String sql) {
+        Positional positional = toPositional(sql);
+        String arguments = positional.parameters() == 0
+                ? ""
+                : "(" + String.join(", ", Collections.nCopies(positional.parameters(), "NULL")) + ")";
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            boolean prepared = false;
+            try {
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE " + STATEMENT + " AS " + positional.sql());
+                prepared = true;
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE " + STATEMENT + arguments)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                // после ошибки транзакция прервана и DEALLOCATE в ней не выполнится
+                connection.rollback();
+                if (prepared) {
+                    statement.execute("DEALLOCATE " + STATEMENT);
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Не удалось получить план запроса: {}", e.getMessage());
+            return "unavailable: " + e.getMessage();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Заменяет JDBC-параметры ? на $1, $2, ...; строковые литералы и идентификаторы в кавычках не трогает.
+     */
+    static Positional toPositional(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '?') {
+                result.append('$').append(++parameter);
+                continue;
+            }
+            result.append(c);
+        }
+        return new Positional(result.toString(), parameter);
+    }
+
+    record Positional(String sql, int parameters) { }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Медленный запрос: вместо значений параметров хранятся только их типы.
+ */
+public record SlowQuery(long id, Instant at, long durationMillis, String sql, List<String> parameters,
+                        long rows, String caller, String plan) {
+
+    public SlowQuery withPlan(String plan) {
+        return new SlowQuery(id, at, durationMillis, sql, parameters, rows, caller, plan);
+    }
+}
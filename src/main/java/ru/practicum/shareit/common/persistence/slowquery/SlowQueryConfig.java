@@ -0,0 +1,63 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Журнал медленных запросов: оборачивает основной DataSource приложения.
+ * Прокси стоит на каждом соединении, операторе и результате, поэтому журнал включается явно.
+ */
+@Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
+@ConditionalOnProperty(prefix = "shareit.sql.slow-queries", name = "enabled", havingValue = "true")
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+        return new SlowQueryLog(properties.getCapacity());
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog,
+                                                                     ObjectProvider<SlowQueryProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof SlowQueryDataSource) {
+                    return bean;
+                }
+                SlowQueryLog log = slowQueryLog.getObject();
+                SlowQueryProperties config = properties.getObject();
+                Consumer<SlowQuery> onSlowQuery = config.isExplain() && supportsGenericPlans(dataSource)
+                        ? new QueryPlanCapture(dataSource, log)
+                        : query -> { };
+                return new SlowQueryDataSource(dataSource, log, config.getThreshold().toMillis(), onSlowQuery);
+            }
+        };
+    }
+
+    private static boolean supportsGenericPlans(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            return "PostgreSQL".equals(meta.getDatabaseProductName()) && meta.getDatabaseMajorVersion() >= 12;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Оборачивает соединения, чтобы измерять каждый запрос от выполнения до закрытия результата.
+ * Запросы дольше порога уходят в {@link SlowQueryLog} вместе с типами параметров, числом строк
+ * и вызвавшим методом DAO; стек разбирается только для медленных запросов.
+ * Закрытие передаётся обёрнутому пулу, иначе Spring при остановке не нашёл бы его close().
+ */
+public class SlowQueryDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final String APP_PACKAGE = "ru.practicum.shareit.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final SlowQueryLog log;
+    private final long thresholdNanos;
+    private final Consumer<SlowQuery> onSlowQuery;
+
+    public SlowQueryDataSource(DataSource target, SlowQueryLog log, long thresholdMillis,
+                               Consumer<SlowQuery> onSlowQuery) {
+        super(target);
+        this.log = log;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.onSlowQuery = onSlowQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (onSlowQuery instanceof AutoCloseable capture) {
+            capture.close();
+        }
+        if (getTargetDataSource() instanceof AutoCloseable target) {
+            target.close();
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<? extends Statement> type = statement instanceof CallableStatement
+                        ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return proxy(type, new StatementHandler(statement, sql));
+            }
+            return result;
+        });
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final List<String> parameters = new ArrayList<>();
+        private String sql;
+        private Execution execution;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordParameter(index, name, args);
+                return SlowQueryDataSource.invoke(target, method, args);
+            }
+            if (EXECUTE_METHODS.contains(name)) {
+                finish();
+                if (args != null && args.length > 0 && args[0] instanceof String s) {
+                    sql = s;
+                }
+                execution = new Execution(System.nanoTime());
+                Object result = SlowQueryDataSource.invoke(target, method, args);
+                if (result instanceof ResultSet rs) {
+                    return wrapResultSet(rs);
+                }
+                if (!"execute".equals(name) || Boolean.FALSE.equals(result)) {
+                    execution.rows = updateCount(result);
+                    finish();
+                }
+                return result;
+            }
+            if ("getResultSet".equals(name)) {
+                Object result = SlowQueryDataSource.invoke(target, method, args);
+                return result instanceof ResultSet rs && execution != null ? wrapResultSet(rs) : result;
+            }
+            if ("close".equals(name)) {
+                finish();
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private ResultSet wrapResultSet(ResultSet rs) {
+            Execution current = execution;
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = SlowQueryDataSource.invoke(rs, method, args);
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                    current.rows++;
+                } else if ("close".equals(method.getName()) && current == execution) {
+                    finish();
+                }
+                return result;
+            });
+        }
+
+        private void recordParameter(int index, String setter, Object[] args) {
+            String shape;
+            if ("setNull".equals(setter)) {
+                shape = "NULL";
+            } else if ("setObject".equals(setter)) {
+                shape = args[1] == null ? "NULL" : args[1].getClass().getSimpleName();
+            } else {
+                shape = setter.substring(3);
+            }
+            while (parameters.size() < index) {
+                parameters.add("?");
+            }
+            parameters.set(index - 1, shape);
+        }
+
+        private void finish() {
+            if (execution == null) {
+                return;
+            }
+            long elapsed = System.nanoTime() - execution.startNanos;
+            if (elapsed >= thresholdNanos) {
+                SlowQuery query = log.add(TimeUnit.NANOSECONDS.toMillis(elapsed), sql, List.copyOf(parameters),
+                        execution.rows, caller());
+                onSlowQuery.accept(query);
+            }
+            execution = null;
+            parameters.clear();
+        }
+    }
+
+    private static class Execution {
+        private final long startNanos;
+        private long rows;
+
+        Execution(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * Ближайший метод DAO в стеке, иначе ближайший метод приложения.
+     */
+    private static String caller() {
+        return WALKER.walk(frames -> {
+            List<StackWalker.StackFrame> app = frames
+                    .filter(f -> f.getClassName().startsWith(APP_PACKAGE))
+                    .filter(f -> !isOwnFrame(f.getClassName()))
+                    .toList();
+            return app.stream()
+                    .filter(f -> f.getClassName().endsWith("Dao"))
+                    .findFirst()
+                    .or(() -> app.stream().findFirst())
+                    .map(f -> simpleName(f.getClassName()) + "." + f.getMethodName())
+                    .orElse("unknown");
+        });
+    }
+
+    private static boolean isOwnFrame(String className) {
+        String own = SlowQueryDataSource.class.getName();
+        return className.equals(own) || className.startsWith(own + "$");
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Number n) {
+            return n.longValue();
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int c : counts) {
+                total += Math.max(c, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long c : counts) {
+                total += Math.max(c, 0);
+            }
+        }
+        return total;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+}
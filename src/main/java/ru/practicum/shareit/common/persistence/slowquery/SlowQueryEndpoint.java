@@ -0,0 +1,24 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+    private final SlowQueryLog slowQueries;
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueries.snapshot();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueries.clear();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Кольцевой буфер последних медленных запросов. Записи редки, поэтому достаточно монитора.
+ */
+public class SlowQueryLog {
+    private final SlowQuery[] entries;
+    private long sequence;
+
+    public SlowQueryLog(int capacity) {
+        this.entries = new SlowQuery[capacity];
+    }
+
+    public synchronized SlowQuery add(long durationMillis, String sql, List<String> parameters, long rows,
+                                      String caller) {
+        SlowQuery query = new SlowQuery(++sequence, Instant.now(), durationMillis, sql, parameters, rows, caller, null);
+        entries[slot(query.id())] = query;
+        return query;
+    }
+
+    public synchronized void attachPlan(long id, String plan) {
+        SlowQuery query = entries[slot(id)];
+        if (query != null && query.id() == id) {
+            entries[slot(id)] = query.withPlan(plan);
+        }
+    }
+
+    /**
+     * Записи от новых к старым.
+     */
+    public synchronized List<SlowQuery> snapshot() {
+        List<SlowQuery> result = new ArrayList<>(entries.length);
+        for (long id = sequence; id > 0 && id > sequence - entries.length; id--) {
+            SlowQuery query = entries[slot(id)];
+            if (query != null) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Счётчик id не сбрасывается: план, досчитанный для записи до очистки, не должен прицепиться к новой.
+     */
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+    }
+
+    private int slot(long id) {
+        return (int) ((id - 1) % entries.length);
+    }
+}
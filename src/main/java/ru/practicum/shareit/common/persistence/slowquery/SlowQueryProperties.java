@@ -0,0 +1,27 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.sql.slow-queries")
+public class SlowQueryProperties {
+    /**
+     * Запросы дольше порога (выполнение и чтение результата) попадают в журнал.
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Сколько последних медленных запросов хранить.
+     */
+    private int capacity = 200;
+
+    /**
+     * Снимать обобщённый план медленных SELECT; только PostgreSQL 12+.
+     */
+    private boolean explain = false;
+}
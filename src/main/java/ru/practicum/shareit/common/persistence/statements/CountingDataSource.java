@@ -0,0 +1,88 @@
+package ru.practicum.shareit.common.persistence.statements;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Считает выполнения на уровне JDBC, поэтому в счётчик попадают и запросы Hibernate,
+ * и NamedParameterJdbcTemplate. Пакет (executeBatch) считается одним обращением к базе.
+ * Закрытие передаётся обёрнутому пулу, чтобы Spring закрыл его при остановке.
+ */
+public class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final StatementCounter counter;
+
+    public CountingDataSource(DataSource target, StatementCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable target) {
+            target.close();
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<? extends Statement> type = statement instanceof CallableStatement
+                        ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return proxy(type, (statementProxy, statementMethod, statementArgs) -> {
+                    if (EXECUTE_METHODS.contains(statementMethod.getName())) {
+                        String executed = statementArgs != null && statementArgs.length > 0
+                                && statementArgs[0] instanceof String s ? s : sql;
+                        counter.record(executed != null ? executed : "<batch>");
+                    }
+                    return invoke(statement, statementMethod, statementArgs);
+                });
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.common.persistence.statements;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Проверяет число SQL-запросов за HTTP-запрос: повторы одного запроса (N+1) и лимит эндпоинта.
+ * Проверка идёт после обработчика, поэтому в режиме FAIL ответ целиком буферизуется и уходит
+ * клиенту только после неё: иначе потоковый ответ успел бы уйти с кодом 200.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private final StatementCounter counter;
+    private final SqlMonitorProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean fail = properties.getMode() == SqlMonitorProperties.Mode.FAIL;
+        HttpServletResponse target = fail ? new ContentCachingResponseWrapper(response) : response;
+        counter.begin();
+        StatementCounter.Statements statements;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            statements = counter.end();
+        }
+        check(request, statements);
+        if (target instanceof ContentCachingResponseWrapper buffered) {
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private void check(HttpServletRequest request, StatementCounter.Statements statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : request.getRequestURI();
+        String endpoint = request.getMethod() + " " + path;
+
+        Map<String, Integer> repeated = statements.repeated(properties.getRepeatThreshold());
+        repeated.forEach((sql, count) -> log.warn("Возможный N+1 в {}: {} раз: {}", endpoint, count, sql));
+
+        int budget = properties.getBudgets().getOrDefault(endpoint,
+                properties.getBudgets().getOrDefault(path, properties.getDefaultBudget()));
+        if (statements.total() > budget) {
+            String message = "Превышен лимит SQL-запросов для " + endpoint + ": " + statements.total()
+                    + " при лимите " + budget;
+            if (properties.getMode() == SqlMonitorProperties.Mode.FAIL) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+}
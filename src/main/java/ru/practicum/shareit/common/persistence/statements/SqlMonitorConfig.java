@@ -0,0 +1,49 @@
+package ru.practicum.shareit.common.persistence.statements;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+/**
+ * Счётчик SQL-запросов на HTTP-запрос; включается в dev и test профилях.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+@ConditionalOnProperty(prefix = "shareit.sql.monitor", name = "enabled", havingValue = "true")
+public class SqlMonitorConfig {
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor(ObjectProvider<StatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof CountingDataSource) {
+                    return bean;
+                }
+                return new CountingDataSource(dataSource, counter.getObject());
+            }
+        };
+    }
+
+    @Bean
+    public QueryBudgetFilter queryBudgetFilter(StatementCounter counter, SqlMonitorProperties properties) {
+        return new QueryBudgetFilter(counter, properties);
+    }
+
+    @Bean
+    public TaskDecorator statementCounterTaskDecorator(StatementCounter counter) {
+        return counter::propagate;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.common.persistence.statements;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.sql.monitor")
+public class SqlMonitorProperties {
+    /**
+     * LOG — только предупреждение в лог, FAIL — запрос завершается ошибкой (для тестов).
+     */
+    private Mode mode = Mode.LOG;
+
+    /**
+     * Сколько одинаковых запросов с разными параметрами за один HTTP-запрос считать признаком N+1.
+     */
+    private int repeatThreshold = 3;
+
+    /**
+     * Лимит SQL-запросов на HTTP-запрос, если для эндпоинта не задан свой.
+     */
+    private int defaultBudget = 20;
+
+    /**
+     * Лимиты по эндпоинтам: ключ — шаблон пути ("/items/{id}") или метод и шаблон ("GET /items/{id}").
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    public enum Mode {
+        LOG,
+        FAIL
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.common.persistence.statements;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Считает SQL-запросы текущего HTTP-запроса, включая выполненные в параллельных подзадачах.
+ */
+public class StatementCounter {
+    private final ThreadLocal<Statements> current = new ThreadLocal<>();
+
+    public void begin() {
+        current.set(new Statements());
+    }
+
+    public Statements end() {
+        Statements statements = current.get();
+        current.remove();
+        return statements;
+    }
+
+    public void record(String sql) {
+        Statements statements = current.get();
+        if (statements != null) {
+            statements.counts.computeIfAbsent(sql, key -> new AtomicInteger()).incrementAndGet();
+            statements.total.incrementAndGet();
+        }
+    }
+
+    public Runnable propagate(Runnable task) {
+        Statements statements = current.get();
+        return () -> {
+            Statements previous = current.get();
+            current.set(statements);
+            try {
+                task.run();
+            } finally {
+                current.set(previous);
+            }
+        };
+    }
+
+    public static class Statements {
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        private final AtomicInteger total = new AtomicInteger();
+
+        public int total() {
+            return total.get();
+        }
+
+        /**
+         * Запросы, выполненные не меньше threshold раз.
+         */
+        public Map<String, Integer> repeated(int threshold) {
+            Map<String, Integer> repeated = new HashMap<>();
+            counts.forEach((sql, count) -> {
+                if (count.get() >= threshold) {
+                    repeated.put(sql, count.get());
+                }
+            });
+            return repeated;
+        }
+    }
+}
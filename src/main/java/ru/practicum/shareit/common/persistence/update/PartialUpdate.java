@@ -0,0 +1,94 @@
+package ru.practicum.shareit.common.persistence.update;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * UPDATE одной строки, в который попадают только колонки с не-null значениями.
+ * Имена таблиц и колонок задаются кодом DAO, значения передаются параметрами.
+ */
+public final class PartialUpdate {
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final String table;
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final List<String> increments = new ArrayList<>();
+    private final Map<String, Object> conditions = new LinkedHashMap<>();
+
+    private PartialUpdate(String table) {
+        this.table = identifier(table);
+    }
+
+    public static PartialUpdate table(String table) {
+        return new PartialUpdate(table);
+    }
+
+    /**
+     * Колонка попадает в SET, только если значение не null.
+     */
+    public PartialUpdate set(String column, Object value) {
+        if (value != null) {
+            values.put(identifier(column), value);
+        }
+        return this;
+    }
+
+    public PartialUpdate increment(String column) {
+        increments.add(identifier(column));
+        return this;
+    }
+
+    public PartialUpdate where(String column, Object value) {
+        conditions.put(identifier(column), value);
+        return this;
+    }
+
+    public boolean changes(String column) {
+        return values.containsKey(column);
+    }
+
+    public boolean hasValues() {
+        return !values.isEmpty();
+    }
+
+    String table() {
+        return table;
+    }
+
+    Map<String, Object> parameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        values.forEach((column, value) -> parameters.put("v_" + column, value));
+        conditions.forEach((column, value) -> parameters.put("w_" + column, value));
+        return parameters;
+    }
+
+    String updateSql() {
+        List<String> assignments = new ArrayList<>();
+        values.keySet().forEach(column -> assignments.add(column + " = :v_" + column));
+        increments.forEach(column -> assignments.add(column + " = " + column + " + 1"));
+        return "UPDATE " + table + " SET " + String.join(", ", assignments) + whereSql();
+    }
+
+    String selectSql() {
+        return "SELECT * FROM " + table + whereSql();
+    }
+
+    private String whereSql() {
+        if (conditions.isEmpty()) {
+            throw new IllegalStateException("PartialUpdate без условия WHERE: " + table);
+        }
+        List<String> predicates = new ArrayList<>();
+        conditions.keySet().forEach(column -> predicates.add(column + " = :w_" + column));
+        return " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Недопустимое имя: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.common.persistence.update;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.persistence.SqlDialect;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Выполняет {@link PartialUpdate} и возвращает обновлённую строку тем же запросом:
+ * {@code UPDATE ... RETURNING *} в PostgreSQL и {@code SELECT * FROM FINAL TABLE (UPDATE ...)} в H2.
+ * Для прочих СУБД - UPDATE и SELECT по тому же условию. Вызывается внутри транзакции DAO.
+ */
+@Component
+public class PartialUpdateExecutor {
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Supplier<SqlDialect> dialect;
+
+    public PartialUpdateExecutor(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.dialect = SqlDialect.lazy(jdbc.getJdbcTemplate());
+    }
+
+    public <T> Optional<T> updateReturning(PartialUpdate update, RowMapper<T> rowMapper) {
+        Map<String, Object> parameters = update.parameters();
+        if (!update.hasValues()) {
+            return first(jdbc.query(update.selectSql(), parameters, rowMapper));
+        }
+        return switch (dialect.get()) {
+            case POSTGRESQL -> first(jdbc.query(update.updateSql() + " RETURNING *", parameters, rowMapper));
+            case H2 -> first(jdbc.query("SELECT * FROM FINAL TABLE (" + update.updateSql() + ")", parameters,
+                    rowMapper));
+            case OTHER -> jdbc.update(update.updateSql(), parameters) == 0
+                    ? Optional.empty()
+                    : first(jdbc.query(update.selectSql(), parameters, rowMapper));
+        };
+    }
+
+    /**
+     * UPDATE без чтения строки; возвращает число изменённых строк.
+     */
+    public int update(PartialUpdate update) {
+        return jdbc.update(update.updateSql(), update.parameters());
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
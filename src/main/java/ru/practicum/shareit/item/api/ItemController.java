@@ -1,29 +1,39 @@
 package ru.practicum.shareit.item.api;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.domain.BookingService;
-import ru.practicum.shareit.booking.domain.model.Booking;
-import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.ItemBookingSummary;
 import ru.practicum.shareit.comment.api.dto.CommentDto;
 import ru.practicum.shareit.comment.api.dto.NewCommentDto;
 import ru.practicum.shareit.comment.api.mapper.CommentApiMapper;
 import ru.practicum.shareit.comment.domain.CommentService;
 import ru.practicum.shareit.comment.domain.model.Comment;
+import ru.practicum.shareit.comment.domain.model.ItemComments;
+import ru.practicum.shareit.common.api.ETags;
+import ru.practicum.shareit.common.api.JsonArrayWriter;
+import ru.practicum.shareit.common.concurrent.LookupScope;
+import ru.practicum.shareit.common.concurrent.ParallelLookups;
 import ru.practicum.shareit.item.api.dto.ItemDto;
 import ru.practicum.shareit.item.api.dto.ItemExtendedDto;
 import ru.practicum.shareit.item.api.mapper.ItemApiMapper;
 import ru.practicum.shareit.item.domain.ItemService;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.request.domain.ItemRequestService;
 import ru.practicum.shareit.user.domain.UserService;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/items")
@@ -34,44 +44,85 @@ public class ItemController {
     private final UserService userService;
     private final CommentService commentService;
     private final BookingService bookingService;
+    private final ItemRequestService requestService;
     private final ItemApiMapper mapper;
     private final CommentApiMapper commentMapper;
+    private final ParallelLookups lookups;
+    private final JsonArrayWriter jsonArrays;
 
+    /**
+     * Вещи владельца пишутся в ответ потоком прямо из курсора БД.
+     */
     @GetMapping
-    public ResponseEntity<List<ItemDto>> findByUserId(@RequestHeader(USER_ID_HEADER) Long userId) {
+    public void findByUserId(@RequestHeader(USER_ID_HEADER) Long userId,
+                             HttpServletResponse response) throws IOException {
         User user = userService.findById(userId);
-        return ResponseEntity.ok(mapper.toDtos(itemService.findByOwner(user)));
+        jsonArrays.write(response, mapper::viewToDto, sink -> itemService.forEachViewByOwner(user, sink));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<ItemExtendedDto> findById(@PathVariable long id) {
-        Item item = itemService.findById(id);
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ItemDto>> findAllByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(mapper.toDtos(itemService.findAllByIds(ids)));
+    }
 
-        List<Comment> comments = commentService.findByItemId(item.getId());
-        List<Booking> bookings = bookingService.findByItemId(id);
-        Booking lastBooking = bookings.stream()
-                .filter(b -> b.getEnd().isBefore(LocalDateTime.now().minusSeconds(5)))
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED)
-                .max(Comparator.comparing(Booking::getEnd))
-                .orElse(null);
-        Booking nextBooking = bookings.stream()
-                .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED)
-                .min(Comparator.comparing(Booking::getStart))
+    /**
+     * ETag складывается из версии вещи, ревизии отзывов и дат бронирований; при совпадении
+     * с If-None-Match сама вещь и отзывы не загружаются.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ItemExtendedDto> findById(@PathVariable long id, WebRequest request) {
+        Optional<String> itemRevision;
+        String commentsRevision;
+        ItemBookingSummary bookings;
+        try (LookupScope scope = lookups.open()) {
+            Supplier<Optional<String>> itemRevisionLookup = scope.fork(() -> itemService.findRevision(id));
+            Supplier<String> commentsRevisionLookup = scope.fork(() -> commentService.findRevisionByItemId(id));
+            Supplier<ItemBookingSummary> bookingsLookup = scope.fork(() -> bookingService.findSummary(id));
+            scope.join();
+            itemRevision = itemRevisionLookup.get();
+            commentsRevision = commentsRevisionLookup.get();
+            bookings = bookingsLookup.get();
+        }
+        String etag = itemRevision
+                .map(revision -> ETags.of("item", id, revision + "." + commentsRevision + "." + bookings.revision()))
                 .orElse(null);
-        LocalDateTime lastBookingDate = lastBooking != null ? lastBooking.getEnd() : null;
-        LocalDateTime nextBookingDate = nextBooking != null ? nextBooking.getStart() : null;
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+
+        Item item;
+        ItemComments comments;
+        try (LookupScope scope = lookups.open()) {
+            Supplier<Item> itemLookup = scope.fork(() -> itemService.findById(id));
+            Supplier<ItemComments> commentsLookup = scope.fork(() -> commentService.findLatestByItemId(id));
+            scope.join();
+            item = itemLookup.get();
+            comments = commentsLookup.get();
+        }
 
         ItemExtendedDto dto = ItemExtendedDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .comments(commentMapper.toDtos(comments))
-                .lastBooking(lastBookingDate)
-                .nextBooking(nextBookingDate)
+                .comments(commentMapper.toDtos(comments.latest()))
+                .commentsCount(comments.total())
+                .lastBooking(bookings.lastEnd())
+                .nextBooking(bookings.nextStart())
                 .build();
-        return ResponseEntity.ok(dto);
+        return ETags.ok(dto, etag);
+    }
+
+    /**
+     * Отзывы о вещи страницами по курсору (created, id) последнего элемента предыдущей страницы.
+     */
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<List<CommentDto>> findComments(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(required = false) Long idBefore) {
+        return ResponseEntity.ok(commentMapper.toDtos(commentService.findByItemId(id, createdBefore, idBefore, size)));
     }
 
     @GetMapping("/{id}/comment")
@@ -80,8 +131,9 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ItemDto>> search(@RequestParam String text) {
-        return ResponseEntity.ok(mapper.toDtos(itemService.findByTextContainsInNameAndDescription(text)));
+    public void search(@RequestParam String text, HttpServletResponse response) throws IOException {
+        jsonArrays.write(response, mapper::viewToDto,
+                sink -> itemService.forEachViewByTextContainsInNameAndDescription(text, sink));
     }
 
     @PostMapping
@@ -90,6 +142,9 @@ public class ItemController {
         User user = userService.findById(userId);
         Item item = mapper.toModel(dto);
         item.setOwner(user);
+        if (dto.requestId() != null) {
+            item.setRequest(requestService.findById(dto.requestId()));
+        }
         Item created = itemService.save(item);
         return ResponseEntity
                 .created(URI.create("/users/" + created.getId()))
@@ -3,5 +3,8 @@ package ru.practicum.shareit.item.api.dto;
 import lombok.*;
 
 @Builder
-public record ItemDto(Long id, String name, String description, Boolean available) {
+public record ItemDto(Long id, String name, String description, Boolean available, Long requestId) {
+    public ItemDto(Long id, String name, String description, Boolean available) {
+        this(id, name, description, available, null);
+    }
 }
@@ -7,5 +7,5 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Builder
-public record ItemExtendedDto(Long id, String name, String description, Boolean available, LocalDateTime lastBooking, LocalDateTime nextBooking, List<CommentDto> comments) {
+public record ItemExtendedDto(Long id, String name, String description, Boolean available, LocalDateTime lastBooking, LocalDateTime nextBooking, List<CommentDto> comments, Long commentsCount) {
 }
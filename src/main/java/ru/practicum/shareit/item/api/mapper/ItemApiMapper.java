@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.api.dto.ItemDto;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,6 +23,7 @@ public class ItemApiMapper {
                 .name(itemDto.name())
                 .description(itemDto.description())
                 .available(itemDto.available())
+                .request(itemDto.requestId() != null ? ItemRequest.builder().id(itemDto.requestId()).build() : null)
                 .build();
     }
 
@@ -43,6 +46,7 @@ public class ItemApiMapper {
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
+                .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
                 .build();
         return dto;
     }
@@ -55,4 +59,11 @@ public class ItemApiMapper {
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
+
+    public ItemDto viewToDto(ItemView view) {
+        if (view == null) {
+            return null;
+        }
+        return new ItemDto(view.id(), view.name(), view.description(), view.available(), view.requestId());
+    }
 }
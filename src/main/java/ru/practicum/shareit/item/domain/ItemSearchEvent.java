@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.domain;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ru.practicum.shareit.ItemSearch")
+@Label("Item Search")
+@Category({"ShareIt", "Item"})
+@Description("Поиск доступных вещей по тексту в названии и описании")
+@StackTrace(false)
+class ItemSearchEvent extends Event {
+    @Label("Text Length")
+    int textLength;
+
+    @Label("Results")
+    int results;
+
+    void finish(String text, int results) {
+        end();
+        if (shouldCommit()) {
+            this.textLength = text != null ? text.length() : 0;
+            this.results = results;
+            commit();
+        }
+    }
+}
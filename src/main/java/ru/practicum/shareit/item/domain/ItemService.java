@@ -2,12 +2,27 @@ package ru.practicum.shareit.item.domain;
 
 import ru.practicum.shareit.common.domain.service.CrudService;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemService extends CrudService<Item> {
     List<Item> findByOwner(User user);
 
     List<Item> findByTextContainsInNameAndDescription(String text);
+
+    /**
+     * Потоковый обход для выдачи списка без промежуточной коллекции; sink вызывается внутри транзакции чтения.
+     */
+    void forEachViewByOwner(User user, Consumer<ItemView> sink);
+
+    void forEachViewByTextContainsInNameAndDescription(String text, Consumer<ItemView> sink);
+
+    /**
+     * Ревизия для ETag без загрузки вещи; пусто, если вещи нет.
+     */
+    Optional<String> findRevision(Long id);
 }
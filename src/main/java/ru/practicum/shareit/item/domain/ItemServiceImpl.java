@@ -6,18 +6,27 @@ import ru.practicum.shareit.common.domain.exception.ValidationException;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 import ru.practicum.shareit.common.domain.service.CrudServiceImpl;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.item.domain.repo.ItemRepo;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl extends CrudServiceImpl<Item> implements ItemService {
     private final ItemRepo repo;
 
+    @Override
+    public Optional<String> findRevision(Long id) {
+        return repo.findRevision(id);
+    }
+
     @Override
     public List<Item> findByOwner(User user) {
         validate(user);
@@ -29,7 +38,32 @@ public class ItemServiceImpl extends CrudServiceImpl<Item> implements ItemServic
         if (Objects.isNull(text) || text.isBlank()) {
             return Collections.emptyList();
         }
-        return repo.findByTextContainsInNameAndDescription(text);
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
+        List<Item> items = repo.findByTextContainsInNameAndDescription(text);
+        event.finish(text, items.size());
+        return items;
+    }
+
+    @Override
+    public void forEachViewByOwner(User user, Consumer<ItemView> sink) {
+        validate(user);
+        repo.forEachViewByOwner(user, sink);
+    }
+
+    @Override
+    public void forEachViewByTextContainsInNameAndDescription(String text, Consumer<ItemView> sink) {
+        if (Objects.isNull(text) || text.isBlank()) {
+            return;
+        }
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
+        AtomicInteger results = new AtomicInteger();
+        repo.forEachViewByTextContainsInNameAndDescription(text, view -> {
+            results.incrementAndGet();
+            sink.accept(view);
+        });
+        event.finish(text, results.get());
     }
 
     private void validate(User user) {
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.domain.model;
+
+/**
+ * Read-only проекция вещи для списков, заполняется прямо из запроса без сущности.
+ */
+public record ItemView(Long id, String name, String description, Boolean available, Long requestId) {
+}
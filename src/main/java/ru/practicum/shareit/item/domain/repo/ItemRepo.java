@@ -2,12 +2,27 @@ package ru.practicum.shareit.item.domain.repo;
 
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemRepo extends CrudRepo<Item> {
     List<Item> findByOwner(User user);
 
     List<Item> findByTextContainsInNameAndDescription(String text);
+
+    /**
+     * Передаёт проекции в sink по мере чтения курсора, не собирая их в список.
+     */
+    void forEachViewByOwner(User user, Consumer<ItemView> sink);
+
+    void forEachViewByTextContainsInNameAndDescription(String text, Consumer<ItemView> sink);
+
+    /**
+     * Ревизия вещи для ETag; меняется при каждом изменении строки.
+     */
+    Optional<String> findRevision(Long id);
 }
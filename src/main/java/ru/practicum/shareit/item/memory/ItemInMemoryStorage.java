@@ -3,10 +3,12 @@ package ru.practicum.shareit.item.memory;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.common.memory.CrudInMemoryStorage;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.item.domain.repo.ItemRepo;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
@@ -38,6 +40,20 @@ public class ItemInMemoryStorage extends CrudInMemoryStorage<Item> implements It
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void forEachViewByOwner(User user, Consumer<ItemView> sink) {
+        findByOwner(user).stream()
+                .map(this::toView)
+                .forEach(sink);
+    }
+
+    @Override
+    public void forEachViewByTextContainsInNameAndDescription(String text, Consumer<ItemView> sink) {
+        findByTextContainsInNameAndDescription(text).stream()
+                .map(this::toView)
+                .forEach(sink);
+    }
+
     @Override
     protected Item createCopy(Item model, Long newId) {
         return Item.builder()
@@ -62,6 +78,11 @@ public class ItemInMemoryStorage extends CrudInMemoryStorage<Item> implements It
                 .build();
     }
 
+    private ItemView toView(Item item) {
+        return new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequest() != null ? item.getRequest().getId() : null);
+    }
+
     private boolean containsText(Item item, String searchText) {
         boolean nameContains = item.getName() != null &&
                 item.getName().toLowerCase().contains(searchText);
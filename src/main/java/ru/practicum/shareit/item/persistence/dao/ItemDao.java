@@ -3,16 +3,23 @@ package ru.practicum.shareit.item.persistence.dao;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.common.domain.exception.NotFoundException;
+import ru.practicum.shareit.common.persistence.batch.IdBatches;
+import ru.practicum.shareit.common.persistence.update.PartialUpdateExecutor;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.item.domain.repo.ItemRepo;
 import ru.practicum.shareit.item.persistence.entity.ItemEntity;
 import ru.practicum.shareit.item.persistence.mapper.ItemPersistenceMapper;
 import ru.practicum.shareit.item.persistence.repo.ItemRepository;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Primary
 @Component
@@ -20,8 +27,10 @@ import java.util.Optional;
 public class ItemDao implements ItemRepo {
     private final ItemRepository repository;
     private final ItemPersistenceMapper mapper;
+    private final PartialUpdateExecutor updates;
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.items.read}")
     public Optional<Item> findById(Long id) {
         Optional<ItemEntity> entity = repository.findById(id);
         if (entity.isEmpty()) {
@@ -32,30 +41,61 @@ public class ItemDao implements ItemRepo {
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.items.read}")
+    public List<Item> findAllByIds(Collection<Long> ids) {
+        return IdBatches.findAll(ids, chunk -> mapper.toDomainList(repository.findFetchedByIdIn(chunk)));
+    }
+
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.items.write}")
     public Item create(Item item) {
         return mapper.toDomain(repository.save(mapper.toEntity(item)));
     }
 
     @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.items.write}")
     public Item update(Item item) {
-        ItemEntity entity = repository.findById(item.getId())
+        return updates.updateReturning(mapper.toPartialUpdate(item), mapper::rowToDomain)
                 .orElseThrow(() -> new NotFoundException("item not found"));
-        mapper.updateEntityFromDomain(item, entity);
-        return mapper.toDomain(repository.save(entity));
     }
 
     @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.items.write}")
     public void deleteById(Long id) {
         repository.deleteById(id);
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.items.read}")
     public List<Item> findByOwner(User user) {
         return mapper.toDomainList(repository.findByOwnerId(user.getId()));
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.items.search}")
     public List<Item> findByTextContainsInNameAndDescription(String text) {
         return mapper.toDomainList(repository.findByTextContainsInNameAndDescription(text));
     }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.items.stream}")
+    public void forEachViewByOwner(User user, Consumer<ItemView> sink) {
+        try (Stream<ItemView> views = repository.streamViewsByOwnerId(user.getId())) {
+            views.forEach(sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.items.search}")
+    public void forEachViewByTextContainsInNameAndDescription(String text, Consumer<ItemView> sink) {
+        try (Stream<ItemView> views = repository.streamViewsByTextContainsInNameAndDescription(text)) {
+            views.forEach(sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.items.read}")
+    public Optional<String> findRevision(Long id) {
+        return repository.findVersionById(id).map(String::valueOf);
+    }
 }
@@ -37,4 +37,10 @@ public class ItemEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private RequestEntity request;
+
+    /**
+     * Растёт с каждым UPDATE строки; пишется только SQL-обновлениями, JPA его лишь читает.
+     */
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
 }
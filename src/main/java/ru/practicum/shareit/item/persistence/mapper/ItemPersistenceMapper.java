@@ -2,22 +2,23 @@ package ru.practicum.shareit.item.persistence.mapper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
 import ru.practicum.shareit.item.domain.model.Item;
 import ru.practicum.shareit.item.persistence.entity.ItemEntity;
 import ru.practicum.shareit.request.domain.model.ItemRequest;
 import ru.practicum.shareit.request.persistence.entity.RequestEntity;
-import ru.practicum.shareit.request.persistence.mapper.RequestPersistenceMapper;
 import ru.practicum.shareit.user.domain.model.User;
 import ru.practicum.shareit.user.persistence.entity.UserEntity;
 import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class ItemPersistenceMapper {
     private final UserPersistenceMapper userMapper;
-    private final RequestPersistenceMapper requestMapper;
 
     public Item toDomain(ItemEntity entity) {
         if (entity == null) {
@@ -29,9 +30,10 @@ public class ItemPersistenceMapper {
             owner = userMapper.toDomain(entity.getOwner());
         }
 
+        // Только ссылка на запрос: чтение description и автора запроса подгружало бы их на каждую вещь
         ItemRequest request = null;
         if (entity.getRequest() != null) {
-            request = requestMapper.toDomain(entity.getRequest());
+            request = ItemRequest.builder().id(entity.getRequest().getId()).build();
         }
 
         return Item.builder()
@@ -44,6 +46,30 @@ public class ItemPersistenceMapper {
                 .build();
     }
 
+    /**
+     * Строка таблицы items; владелец и запрос заполняются только идентификаторами.
+     */
+    public Item rowToDomain(ResultSet rs, int rowNum) throws SQLException {
+        long requestId = rs.getLong("request_id");
+        return Item.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .available(rs.getBoolean("is_available"))
+                .owner(User.builder().id(rs.getLong("owner_id")).build())
+                .request(rs.wasNull() ? null : ItemRequest.builder().id(requestId).build())
+                .build();
+    }
+
+    public PartialUpdate toPartialUpdate(Item domain) {
+        return PartialUpdate.table("items")
+                .set("name", domain.getName())
+                .set("description", domain.getDescription())
+                .set("is_available", domain.getAvailable())
+                .increment("version")
+                .where("id", domain.getId());
+    }
+
     public ItemEntity toEntity(Item domain) {
         if (domain == null) {
             return null;
@@ -73,24 +99,6 @@ public class ItemPersistenceMapper {
                 .build();
     }
 
-    public void updateEntityFromDomain(Item domain, ItemEntity entity) {
-        if (domain == null || entity == null) {
-            return;
-        }
-
-        if (domain.getName() != null) {
-            entity.setName(domain.getName());
-        }
-
-        if (domain.getDescription() != null) {
-            entity.setDescription(domain.getDescription());
-        }
-
-        if (domain.getAvailable() != null) {
-            entity.setAvailable(domain.getAvailable());
-        }
-    }
-
     public List<Item> toDomainList(List<ItemEntity> entities) {
         if (entities == null) {
             return List.of();
@@ -1,20 +1,53 @@
 package ru.practicum.shareit.item.persistence.repo;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.item.persistence.entity.ItemEntity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRepository extends CrudRepository<ItemEntity, Long> {
     List<ItemEntity> findByOwnerId(Long userId);
 
+    @Query("SELECT i.version FROM ItemEntity i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT i FROM ItemEntity i " +
+            "LEFT JOIN FETCH i.owner " +
+            "LEFT JOIN FETCH i.request r " +
+            "LEFT JOIN FETCH r.requester " +
+            "WHERE i.id IN :ids")
+    List<ItemEntity> findFetchedByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT i FROM ItemEntity i " +
             "WHERE i.available = true AND " +
             "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
             "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
     List<ItemEntity> findByTextContainsInNameAndDescription(@Param("text") String text);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ru.practicum.shareit.item.domain.model.ItemView(" +
+            "i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM ItemEntity i WHERE i.owner.id = :ownerId")
+    Stream<ItemView> streamViewsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ru.practicum.shareit.item.domain.model.ItemView(" +
+            "i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM ItemEntity i " +
+            "WHERE i.available = true AND " +
+            "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
+            "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
+    Stream<ItemView> streamViewsByTextContainsInNameAndDescription(@Param("text") String text);
 }
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.request.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.request.api.dto.ItemRequestDto;
+import ru.practicum.shareit.request.api.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.api.mapper.ItemRequestApiMapper;
+import ru.practicum.shareit.request.domain.ItemRequestService;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.user.domain.UserService;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+public class ItemRequestController {
+    public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final ItemRequestService requestService;
+    private final UserService userService;
+    private final ItemRequestApiMapper mapper;
+
+    @PostMapping
+    public ResponseEntity<ItemRequestDto> create(@RequestBody NewItemRequestDto dto,
+                                                 @RequestHeader(USER_ID_HEADER) Long userId) {
+        ItemRequest request = mapper.toModel(dto);
+        request.setRequester(userService.findById(userId));
+        ItemRequest created = requestService.save(request);
+        return ResponseEntity
+                .created(URI.create("/requests/" + created.getId()))
+                .body(mapper.toDto(created));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ItemRequestDto>> findOwn(@RequestHeader(USER_ID_HEADER) Long userId) {
+        User user = userService.findById(userId);
+        return ResponseEntity.ok(mapper.toDtos(requestService.findByRequester(user)));
+    }
+
+    /**
+     * Чужие запросы страницами по курсору: следующая страница запрашивается
+     * с created и id последнего элемента предыдущей.
+     */
+    @GetMapping("/all")
+    public ResponseEntity<List<ItemRequestDto>> findOthers(
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(required = false) Long idBefore) {
+        User user = userService.findById(userId);
+        return ResponseEntity.ok(mapper.toDtos(requestService.findOthers(user, createdBefore, idBefore, size)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ItemRequestDto> findById(@PathVariable long id,
+                                                   @RequestHeader(USER_ID_HEADER) Long userId) {
+        userService.findById(userId);
+        return ResponseEntity.ok(mapper.toDto(requestService.findById(id)));
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.request.api.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+public record ItemRequestDto(Long id, String description, LocalDateTime created, List<RequestedItemDto> items) {
+}
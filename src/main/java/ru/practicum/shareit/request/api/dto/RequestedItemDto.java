@@ -0,0 +1,4 @@
+package ru.practicum.shareit.request.api.dto;
+
+public record RequestedItemDto(Long id, String name, Long ownerId) {
+}
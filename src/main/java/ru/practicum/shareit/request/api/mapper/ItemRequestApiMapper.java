@@ -0,0 +1,53 @@
+package ru.practicum.shareit.request.api.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.request.api.dto.ItemRequestDto;
+import ru.practicum.shareit.request.api.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.api.dto.RequestedItemDto;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.request.domain.model.RequestedItem;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemRequestApiMapper {
+
+    public ItemRequest toModel(NewItemRequestDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return ItemRequest.builder()
+                .description(dto.description())
+                .build();
+    }
+
+    public ItemRequestDto toDto(ItemRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return ItemRequestDto.builder()
+                .id(request.getId())
+                .description(request.getDescription())
+                .created(request.getCreated())
+                .items(request.getItems().stream()
+                        .map(this::toDto)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    public List<ItemRequestDto> toDtos(List<ItemRequest> requests) {
+        if (requests == null) {
+            return null;
+        }
+        return requests.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private RequestedItemDto toDto(RequestedItem item) {
+        return new RequestedItemDto(item.id(), item.name(), item.ownerId());
+    }
+}
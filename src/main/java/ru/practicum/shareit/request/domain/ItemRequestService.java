@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request.domain;
+
+import ru.practicum.shareit.common.domain.service.CrudService;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemRequestService extends CrudService<ItemRequest> {
+    List<ItemRequest> findByRequester(User requester);
+
+    List<ItemRequest> findOthers(User user, LocalDateTime createdBefore, Long idBefore, int size);
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.request.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.domain.exception.ValidationException;
+import ru.practicum.shareit.common.domain.repo.CrudRepo;
+import ru.practicum.shareit.common.domain.service.CrudServiceImpl;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.request.domain.repo.ItemRequestRepo;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class ItemRequestServiceImpl extends CrudServiceImpl<ItemRequest> implements ItemRequestService {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ItemRequestRepo repo;
+
+    @Override
+    public List<ItemRequest> findByRequester(User requester) {
+        return repo.findByRequester(requester);
+    }
+
+    @Override
+    public List<ItemRequest> findOthers(User user, LocalDateTime createdBefore, Long idBefore, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        if (Objects.isNull(createdBefore) != Objects.isNull(idBefore)) {
+            throw new ValidationException("Курсор задаётся парой created и id");
+        }
+        return repo.findOthers(user, createdBefore, idBefore, size);
+    }
+
+    @Override
+    protected void validateBeforeCreate(ItemRequest model) {
+        if (Objects.isNull(model.getDescription()) || model.getDescription().isBlank()) {
+            throw new ValidationException("Описание запроса не может быть пустым");
+        }
+        if (Objects.isNull(model.getRequester())) {
+            throw new ValidationException("Не указан автор запроса");
+        }
+        if (Objects.isNull(model.getCreated())) {
+            model.setCreated(LocalDateTime.now());
+        }
+    }
+
+    @Override
+    protected void validateBeforePatch(ItemRequest model) {
+        if (Objects.nonNull(model.getDescription()) && model.getDescription().isBlank()) {
+            throw new ValidationException("Описание запроса не может быть пустым");
+        }
+    }
+
+    @Override
+    protected CrudRepo<ItemRequest> getRepo() {
+        return repo;
+    }
+}
@@ -8,6 +8,7 @@ import ru.practicum.shareit.common.domain.model.Model;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -18,4 +19,7 @@ public class ItemRequest extends Model {
     private String description;
     private User requester;
     private LocalDateTime created;
+
+    @Builder.Default
+    private List<RequestedItem> items = List.of();
 }
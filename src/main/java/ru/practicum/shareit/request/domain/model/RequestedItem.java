@@ -0,0 +1,7 @@
+package ru.practicum.shareit.request.domain.model;
+
+/**
+ * Вещь, предложенная в ответ на запрос.
+ */
+public record RequestedItem(Long id, String name, Long ownerId, Long requestId) {
+}
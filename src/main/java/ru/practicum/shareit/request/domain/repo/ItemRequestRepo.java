@@ -2,6 +2,20 @@ package ru.practicum.shareit.request.domain.repo;
 
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.user.domain.model.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Запросы возвращаются вместе с предложенными вещами ({@link ItemRequest#getItems()}).
+ */
 public interface ItemRequestRepo extends CrudRepo<ItemRequest> {
+    List<ItemRequest> findByRequester(User requester);
+
+    /**
+     * Страница чужих запросов, от новых к старым, строго после курсора (created, id);
+     * без курсора - первая страница.
+     */
+    List<ItemRequest> findOthers(User user, LocalDateTime createdBefore, Long idBefore, int size);
 }
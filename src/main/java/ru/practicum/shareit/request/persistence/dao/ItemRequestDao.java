@@ -0,0 +1,108 @@
+package ru.practicum.shareit.request.persistence.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.domain.exception.NotFoundException;
+import ru.practicum.shareit.common.persistence.batch.IdBatches;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
+import ru.practicum.shareit.common.persistence.update.PartialUpdateExecutor;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.request.domain.model.RequestedItem;
+import ru.practicum.shareit.request.domain.repo.ItemRequestRepo;
+import ru.practicum.shareit.request.persistence.entity.RequestEntity;
+import ru.practicum.shareit.request.persistence.mapper.RequestPersistenceMapper;
+import ru.practicum.shareit.request.persistence.repo.RequestRepository;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemRequestDao implements ItemRequestRepo {
+    private final RequestRepository repository;
+    private final RequestPersistenceMapper mapper;
+    private final PartialUpdateExecutor updates;
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.requests.read}")
+    public Optional<ItemRequest> findById(Long id) {
+        return repository.findFetchedById(id)
+                .map(entity -> withItems(List.of(entity)).get(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.requests.read}")
+    public List<ItemRequest> findAllByIds(Collection<Long> ids) {
+        return IdBatches.findAll(ids, chunk -> withItems(repository.findFetchedByIdIn(chunk)));
+    }
+
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.requests.write}")
+    public ItemRequest create(ItemRequest request) {
+        return mapper.toDomain(repository.save(mapper.toEntity(request)));
+    }
+
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.requests.write}")
+    public ItemRequest update(ItemRequest request) {
+        PartialUpdate update = mapper.toPartialUpdate(request);
+        if (update.hasValues() && updates.update(update) == 0) {
+            throw new NotFoundException("item request not found");
+        }
+        return findById(request.getId())
+                .orElseThrow(() -> new NotFoundException("item request not found"));
+    }
+
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.requests.write}")
+    public void deleteById(Long id) {
+        repository.deleteById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.requests.read}")
+    public List<ItemRequest> findByRequester(User requester) {
+        return withItems(repository.findByRequesterId(requester.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.requests.read}")
+    public List<ItemRequest> findOthers(User user, LocalDateTime createdBefore, Long idBefore, int size) {
+        List<RequestEntity> page = createdBefore == null
+                ? repository.findOthers(user.getId(), Limit.of(size))
+                : newestFirst(repository.findFetchedByIdIn(
+                        repository.findOtherIdsBefore(user.getId(), createdBefore, idBefore, Limit.of(size))));
+        return withItems(page);
+    }
+
+    private static List<RequestEntity> newestFirst(List<RequestEntity> entities) {
+        return entities.stream()
+                .sorted(Comparator.comparing(RequestEntity::getCreated).thenComparing(RequestEntity::getId).reversed())
+                .toList();
+    }
+
+    /**
+     * Вещи для всех запросов страницы загружаются одним запросом и раскладываются по request_id.
+     */
+    private List<ItemRequest> withItems(List<RequestEntity> entities) {
+        List<ItemRequest> requests = mapper.toDomainList(entities);
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        Map<Long, List<RequestedItem>> items = IdBatches.queryAll(
+                        requests.stream().map(ItemRequest::getId).toList(),
+                        repository::findItemsByRequestIdIn)
+                .stream()
+                .collect(Collectors.groupingBy(RequestedItem::requestId));
+        requests.forEach(request -> request.setItems(items.getOrDefault(request.getId(), List.of())));
+        return requests;
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.persistence.mapper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
 import ru.practicum.shareit.request.domain.model.ItemRequest;
 import ru.practicum.shareit.request.persistence.entity.RequestEntity;
 import ru.practicum.shareit.user.domain.model.User;
@@ -9,6 +10,8 @@ import ru.practicum.shareit.user.persistence.entity.UserEntity;
 import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -64,4 +67,20 @@ public class RequestPersistenceMapper {
                 .created(domain.getCreated() != null ? domain.getCreated() : LocalDateTime.now())
                 .build();
     }
+
+    public PartialUpdate toPartialUpdate(ItemRequest domain) {
+        return PartialUpdate.table("requests")
+                .set("description", domain.getDescription())
+                .where("id", domain.getId());
+    }
+
+    public List<ItemRequest> toDomainList(List<RequestEntity> entities) {
+        if (entities == null) {
+            return List.of();
+        }
+
+        return entities.stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
 }
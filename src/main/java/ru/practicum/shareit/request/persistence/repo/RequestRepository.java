@@ -1,9 +1,67 @@
 package ru.practicum.shareit.request.persistence.repo;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.request.domain.model.RequestedItem;
 import ru.practicum.shareit.request.persistence.entity.RequestEntity;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface RequestRepository extends CrudRepository<RequestEntity, Long> {
+    @Query("""
+        SELECT r FROM RequestEntity r
+        JOIN FETCH r.requester
+        WHERE r.id = :id
+    """)
+    Optional<RequestEntity> findFetchedById(Long id);
+
+    @Query("""
+        SELECT r FROM RequestEntity r
+        JOIN FETCH r.requester
+        WHERE r.id IN :ids
+    """)
+    List<RequestEntity> findFetchedByIdIn(Collection<Long> ids);
+
+    @Query("""
+        SELECT r FROM RequestEntity r
+        JOIN FETCH r.requester u
+        WHERE u.id = :requesterId
+        ORDER BY r.created DESC, r.id DESC
+    """)
+    List<RequestEntity> findByRequesterId(Long requesterId);
+
+    @Query("""
+        SELECT r FROM RequestEntity r
+        JOIN FETCH r.requester u
+        WHERE u.id <> :userId
+        ORDER BY r.created DESC, r.id DESC
+    """)
+    List<RequestEntity> findOthers(Long userId, Limit limit);
+
+    /**
+     * Следующая страница чужих запросов: сравнение строк (created, id) даёт ограниченный проход
+     * по requests_created_id_idx, а раскрытое через OR условие планировщик так не использует.
+     * Сами запросы с авторами дочитываются по id через findFetchedByIdIn.
+     */
+    @Query(value = """
+        SELECT r.id FROM requests r
+        WHERE r.requester_id <> :userId
+          AND (r.created, r.id) < (:createdBefore, :idBefore)
+        ORDER BY r.created DESC, r.id DESC
+    """, nativeQuery = true)
+    List<Long> findOtherIdsBefore(Long userId, LocalDateTime createdBefore, Long idBefore, Limit limit);
+
+    @Query("""
+        SELECT new ru.practicum.shareit.request.domain.model.RequestedItem(i.id, i.name, i.owner.id, i.request.id)
+        FROM ItemEntity i
+        WHERE i.request.id IN :requestIds
+        ORDER BY i.id
+    """)
+    List<RequestedItem> findItemsByRequestIdIn(Collection<Long> requestIds);
 }
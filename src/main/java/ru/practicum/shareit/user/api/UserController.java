@@ -4,12 +4,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.api.ETags;
 import ru.practicum.shareit.user.api.dto.UserDto;
 import ru.practicum.shareit.user.api.mapper.UserApiMapper;
 import ru.practicum.shareit.user.domain.UserService;
 import ru.practicum.shareit.user.domain.model.User;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -19,8 +22,17 @@ public class UserController {
     private final UserApiMapper mapper;
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> findById(@PathVariable long id) {
-        return ResponseEntity.ok(mapper.toDto(service.findById(id)));
+    public ResponseEntity<UserDto> findById(@PathVariable long id, WebRequest request) {
+        String etag = service.findRevision(id).map(revision -> ETags.of("user", id, revision)).orElse(null);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return ETags.ok(mapper.toDto(service.findById(id)), etag);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserDto>> findAllByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(mapper.toDtos(service.findAllByIds(ids)));
     }
 
     @PostMapping
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.user.domain;
+
+/**
+ * Публикуется в транзакции удаления до самого DELETE: бронирования и отзывы пользователя уходят
+ * каскадом в БД, а производные от них таблицы других модулей надо поправить, пока строки ещё видны.
+ */
+public record UserDeletingEvent(Long userId) {
+}
@@ -3,5 +3,11 @@ package ru.practicum.shareit.user.domain;
 import ru.practicum.shareit.common.domain.service.CrudService;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.util.Optional;
+
 public interface UserService extends CrudService<User> {
+    /**
+     * Ревизия для ETag без загрузки пользователя; пусто, если пользователя нет.
+     */
+    Optional<String> findRevision(Long id);
 }
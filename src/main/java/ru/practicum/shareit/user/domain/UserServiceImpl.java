@@ -10,6 +10,7 @@ import ru.practicum.shareit.user.domain.model.User;
 import ru.practicum.shareit.user.domain.repo.UserRepo;
 
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +22,23 @@ public class UserServiceImpl extends CrudServiceImpl<User> implements UserServic
         return repo;
     }
 
+    @Override
+    public Optional<String> findRevision(Long id) {
+        return repo.findRevision(id);
+    }
+
+    /**
+     * Окончательно повтор почты отклоняет уникальный индекс, хранилище сообщает о нём через
+     * {@link DataConflictException}.
+     */
+    @Override
+    public User save(User user) {
+        if (Objects.nonNull(user)) {
+            user.setEmail(User.normalizeEmail(user.getEmail()));
+        }
+        return super.save(user);
+    }
+
     @Override
     protected void validateBeforeCreate(User user) {
         if (Objects.isNull(user.getEmail())
@@ -28,6 +46,7 @@ public class UserServiceImpl extends CrudServiceImpl<User> implements UserServic
                 || !user.getEmail().contains("@")) {
             throw new ValidationException("Почта не корректна");
         }
+        // Дешёвая предпроверка: для новых адресов фильтр хранилища отвечает без запроса к БД
         if (repo.isEmailAlreadyExists(user.getEmail())) {
             throw new DataConflictException("Пользователь с такой почтой уже существует");
         }
@@ -40,9 +59,6 @@ public class UserServiceImpl extends CrudServiceImpl<User> implements UserServic
                     || !user.getEmail().contains("@")) {
                 throw new ValidationException("Почта не корректна");
             }
-            if (repo.isEmailAlreadyExists(user.getEmail())) {
-                throw new DataConflictException("Пользователь с такой почтой уже существует");
-            }
         }
     }
 }
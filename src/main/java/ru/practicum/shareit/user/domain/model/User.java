@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.common.domain.model.Model;
 
+import java.util.Locale;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,4 +16,12 @@ public class User extends Model {
     private Long id;
     private String name;
     private String email;
+
+    /**
+     * Почта в каноническом виде: без пробелов по краям и в нижнем регистре.
+     * Уникальность обеспечивается индексом по этому значению.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+    }
 }
@@ -3,6 +3,13 @@ package ru.practicum.shareit.user.domain.repo;
 import ru.practicum.shareit.common.domain.repo.CrudRepo;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.util.Optional;
+
 public interface UserRepo extends CrudRepo<User> {
     boolean isEmailAlreadyExists(String email);
+
+    /**
+     * Ревизия пользователя для ETag; меняется при каждом изменении строки.
+     */
+    Optional<String> findRevision(Long id);
 }
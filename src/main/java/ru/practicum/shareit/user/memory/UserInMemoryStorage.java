@@ -1,12 +1,99 @@
 package ru.practicum.shareit.user.memory;
 
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.common.domain.exception.DataConflictException;
 import ru.practicum.shareit.common.memory.CrudInMemoryStorage;
 import ru.practicum.shareit.user.domain.model.User;
 import ru.practicum.shareit.user.domain.repo.UserRepo;
 
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Уникальность почты поддерживается индексом нормализованная почта -> id, как уникальный индекс в БД.
+ * Адрес бронируется атомарно через putIfAbsent до записи пользователя и освобождается, если запись не удалась.
+ */
 @Repository
 public class UserInMemoryStorage extends CrudInMemoryStorage<User> implements UserRepo {
+    // id нового пользователя известен только после вставки, до неё адрес занят этой меткой
+    private static final Long RESERVED = -1L;
+
+    private final Map<String, Long> emails = new ConcurrentHashMap<>();
+
+    @Override
+    public User create(User model) {
+        String email = model != null ? User.normalizeEmail(model.getEmail()) : null;
+        if (email != null && emails.putIfAbsent(email, RESERVED) != null) {
+            throw conflict();
+        }
+        User created;
+        try {
+            created = super.create(model);
+        } catch (RuntimeException e) {
+            if (email != null) {
+                emails.remove(email, RESERVED);
+            }
+            throw e;
+        }
+        if (email != null) {
+            emails.replace(email, RESERVED, created.getId());
+        }
+        return created;
+    }
+
+    @Override
+    public User update(User model) {
+        if (model == null || model.getId() == null) {
+            return super.update(model);
+        }
+        Long id = model.getId();
+        String email = User.normalizeEmail(model.getEmail());
+        boolean reserved = false;
+        if (email != null) {
+            Long holder = emails.putIfAbsent(email, id);
+            if (holder != null && !holder.equals(id)) {
+                throw conflict();
+            }
+            reserved = holder == null;
+        }
+        // прежний адрес берётся внутри атомарной замены, чтобы параллельная смена почты не оставила бронь
+        User[] previous = new User[1];
+        User updated;
+        try {
+            updated = items.computeIfPresent(id, (key, existing) -> {
+                previous[0] = existing;
+                return createCopyWithPartialUpdate(model, existing);
+            });
+        } catch (RuntimeException e) {
+            release(reserved, email, id);
+            throw e;
+        }
+        if (updated == null) {
+            release(reserved, email, id);
+            throw new NoSuchElementException("Item with id " + id + " not found");
+        }
+        String before = User.normalizeEmail(previous[0].getEmail());
+        if (before != null && !before.equals(User.normalizeEmail(updated.getEmail()))) {
+            emails.remove(before, id);
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        User removed = id != null ? items.remove(id) : null;
+        if (removed != null && removed.getEmail() != null) {
+            emails.remove(User.normalizeEmail(removed.getEmail()), id);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        super.deleteAll();
+        emails.clear();
+    }
+
     @Override
     protected User createCopy(User model, Long newId) {
         return User.builder()
@@ -27,7 +114,17 @@ public class UserInMemoryStorage extends CrudInMemoryStorage<User> implements Us
 
     @Override
     public boolean isEmailAlreadyExists(String email) {
-        return items.values().stream().map(User::getEmail)
-                .anyMatch(e -> e.equalsIgnoreCase(email));
+        String normalized = User.normalizeEmail(email);
+        return normalized != null && emails.containsKey(normalized);
+    }
+
+    private void release(boolean reserved, String email, Long id) {
+        if (reserved) {
+            emails.remove(email, id);
+        }
+    }
+
+    private static DataConflictException conflict() {
+        return new DataConflictException("Пользователь с такой почтой уже существует");
     }
 }
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.user.persistence.dao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.filter.CountingBloomFilter;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Счётный фильтр Блума нормализованных почт пользователей. До первой загрузки из БД
+ * и для возможных совпадений отвечает "может быть", тогда UserDao выполняет настоящий запрос.
+ * Вставки мимо этого экземпляра (другие узлы, сидер) фильтр не видит; уникальность по-прежнему
+ * обеспечивает индекс, фильтр лишь экономит запрос для заведомо новых адресов.
+ */
+@Component
+public class KnownEmails {
+    private final CountingBloomFilter filter;
+    private volatile boolean loaded;
+
+    public KnownEmails(@Value("${shareit.users.email-filter.expected-insertions}") long expectedInsertions,
+                       @Value("${shareit.users.email-filter.false-positive-rate}") double falsePositiveRate) {
+        this.filter = new CountingBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public boolean mightExist(String email) {
+        return !loaded || filter.mightContain(User.normalizeEmail(email));
+    }
+
+    public void added(String email) {
+        if (email != null) {
+            filter.add(User.normalizeEmail(email));
+        }
+    }
+
+    public void removed(String email) {
+        if (email != null) {
+            filter.remove(User.normalizeEmail(email));
+        }
+    }
+
+    public long reload(Stream<String> emails) {
+        loaded = false;
+        filter.clear();
+        long count = 0;
+        for (Iterator<String> it = emails.iterator(); it.hasNext(); count++) {
+            added(it.next());
+        }
+        loaded = true;
+        return count;
+    }
+}
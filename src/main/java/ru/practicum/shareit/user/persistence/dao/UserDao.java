@@ -1,51 +1,123 @@
 package ru.practicum.shareit.user.persistence.dao;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.domain.exception.DataConflictException;
 import ru.practicum.shareit.common.domain.exception.NotFoundException;
+import ru.practicum.shareit.common.persistence.batch.IdBatches;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
+import ru.practicum.shareit.common.persistence.update.PartialUpdateExecutor;
+import ru.practicum.shareit.user.domain.UserDeletingEvent;
 import ru.practicum.shareit.user.domain.model.User;
 import ru.practicum.shareit.user.domain.repo.UserRepo;
-import ru.practicum.shareit.user.persistence.entity.UserEntity;
 import ru.practicum.shareit.user.persistence.mapper.UserPersistenceMapper;
 import ru.practicum.shareit.user.persistence.repo.UserRepository;
 
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+@Slf4j
 @Primary
 @Component
 @RequiredArgsConstructor
 public class UserDao implements UserRepo {
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UserRepository repository;
     private final UserPersistenceMapper mapper;
+    private final PartialUpdateExecutor updates;
+    private final KnownEmails knownEmails;
+    private final ApplicationEventPublisher events;
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.users.read}")
     public Optional<User> findById(Long id) {
         return repository.findById(id)
                 .map(mapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.users.read}")
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return IdBatches.findAll(ids, chunk -> mapper.toDomainList(repository.findAllById(chunk)));
+    }
+
+    @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.users.write}")
     public User create(User user) {
-        return mapper.toDomain(repository.save(mapper.toEntity(user)));
+        try {
+            User created = mapper.toDomain(repository.save(mapper.toEntity(user)));
+            knownEmails.added(created.getEmail());
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
     }
 
     @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.users.write}")
     public User update(User user) {
-        UserEntity entity = repository.findById(user.getId())
-                .orElseThrow(() -> new NotFoundException("user not found"));
-        mapper.updateEntityFromDomain(user, entity);
-        return mapper.toDomain(
-                repository.save(entity));
+        PartialUpdate update = mapper.toPartialUpdate(user);
+        String previousEmail = update.changes("email") ? repository.findEmailById(user.getId()).orElse(null) : null;
+        try {
+            User updated = updates.updateReturning(update, mapper::rowToDomain)
+                    .orElseThrow(() -> new NotFoundException("user not found"));
+            if (previousEmail != null && !previousEmail.equals(updated.getEmail())) {
+                knownEmails.removed(previousEmail);
+                knownEmails.added(updated.getEmail());
+            }
+            return updated;
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
     }
 
     @Override
+    @Transactional(timeoutString = "${shareit.persistence.timeout.users.write}")
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        repository.findEmailById(id).ifPresent(email -> {
+            events.publishEvent(new UserDeletingEvent(id));
+            repository.deleteById(id);
+            knownEmails.removed(email);
+        });
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.users.read}")
     public boolean isEmailAlreadyExists(String email) {
-        return repository.existsByEmail(email);
+        return knownEmails.mightExist(email) && repository.existsByEmail(User.normalizeEmail(email));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = "${shareit.persistence.timeout.users.read}")
+    public Optional<String> findRevision(Long id) {
+        return repository.findVersionById(id).map(String::valueOf);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadKnownEmails() {
+        try (Stream<String> emails = repository.streamAllEmails()) {
+            log.info("Email filter loaded with {} addresses", knownEmails.reload(emails));
+        }
+    }
+
+    private static RuntimeException translate(DataIntegrityViolationException e) {
+        if (NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sql
+                && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+            return new DataConflictException("Пользователь с такой почтой уже существует");
+        }
+        return e;
     }
 }
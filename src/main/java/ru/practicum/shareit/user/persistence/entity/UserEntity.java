@@ -22,4 +22,10 @@ public class UserEntity {
 
     @Column(name = "email", nullable = false, unique = true)
     private String email;
+
+    /**
+     * Растёт с каждым UPDATE строки; пишется только SQL-обновлениями, JPA его лишь читает.
+     */
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
 }
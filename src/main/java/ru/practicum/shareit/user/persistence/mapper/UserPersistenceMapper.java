@@ -1,9 +1,14 @@
 package ru.practicum.shareit.user.persistence.mapper;
 
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.persistence.update.PartialUpdate;
 import ru.practicum.shareit.user.domain.model.User;
 import ru.practicum.shareit.user.persistence.entity.UserEntity;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 @Component
@@ -20,6 +25,15 @@ public class UserPersistenceMapper {
                 .build();
     }
 
+    public List<User> toDomainList(Iterable<UserEntity> entities) {
+        if (entities == null) {
+            return List.of();
+        }
+        List<User> users = new ArrayList<>();
+        entities.forEach(entity -> users.add(toDomain(entity)));
+        return users;
+    }
+
     public UserEntity toEntity(User domain) {
         if (domain == null) {
             return null;
@@ -32,16 +46,27 @@ public class UserPersistenceMapper {
                 .build();
     }
 
-    public void updateEntityFromDomain(User domain, UserEntity entity) {
-        if (domain == null || entity == null) {
-            return;
-        }
-        if (Objects.nonNull(domain.getName()) && !domain.getName().isBlank()) {
-            entity.setName(domain.getName());
-        }
-        if (Objects.nonNull(domain.getEmail()) && !domain.getEmail().isBlank()) {
-            entity.setEmail(domain.getEmail());
-        }
+    public User rowToDomain(ResultSet rs, int rowNum) throws SQLException {
+        return User.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .build();
+    }
+
+    /**
+     * Пустые имя и почта не меняют строку.
+     */
+    public PartialUpdate toPartialUpdate(User domain) {
+        return PartialUpdate.table("users")
+                .set("name", nonBlank(domain.getName()))
+                .set("email", nonBlank(domain.getEmail()))
+                .increment("version")
+                .where("id", domain.getId());
+    }
+
+    private static String nonBlank(String value) {
+        return Objects.nonNull(value) && !value.isBlank() ? value : null;
     }
 
     public UserEntity toNewEntity(User domain) {
@@ -1,10 +1,28 @@
 package ru.practicum.shareit.user.persistence.repo;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.persistence.entity.UserEntity;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface UserRepository extends CrudRepository<UserEntity, Long> {
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM UserEntity u WHERE u.id = :id")
+    Optional<String> findEmailById(Long id);
+
+    @Query("SELECT u.version FROM UserEntity u WHERE u.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM UserEntity u")
+    Stream<String> streamAllEmails();
 }
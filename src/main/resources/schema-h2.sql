@@ -0,0 +1,5 @@
+-- Case-insensitive email uniqueness. If legacy rows still differ only in case, the index is not created
+-- and startup fails: run db/manual/2026-10-normalize-user-emails.sql first, it is never applied on boot
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_normalized VARCHAR(255)
+    GENERATED ALWAYS AS (LOWER(email));
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_normalized ON users (email_normalized);
@@ -1,9 +1,12 @@
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE
+    email VARCHAR(255) NOT NULL UNIQUE,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     description TEXT NOT NULL,
@@ -19,10 +22,13 @@ CREATE TABLE IF NOT EXISTS items (
     is_available BOOLEAN DEFAULT TRUE,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE SET NULL
 );
 
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -31,10 +37,13 @@ CREATE TABLE IF NOT EXISTS bookings (
     booker_id BIGINT NOT NULL,
     created TIMESTAMP NOT NULL,
     status VARCHAR(10) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     item_id BIGINT NOT NULL,
@@ -43,4 +52,36 @@ CREATE TABLE IF NOT EXISTS comments (
     created TIMESTAMP NOT NULL,
     FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS requests_created_id_idx ON requests (created DESC, id DESC);
+CREATE INDEX IF NOT EXISTS requests_requester_created_idx ON requests (requester_id, created DESC);
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id BIGINT PRIMARY KEY,
+    last_end TIMESTAMP WITHOUT TIME ZONE,
+    next_start TIMESTAMP WITHOUT TIME ZONE,
+    pending_end TIMESTAMP WITHOUT TIME ZONE,
+    refreshed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS bookings_item_status_idx ON bookings (item_id, status);
+CREATE INDEX IF NOT EXISTS item_booking_summary_next_start_idx ON item_booking_summary (next_start);
+CREATE INDEX IF NOT EXISTS item_booking_summary_pending_end_idx ON item_booking_summary (pending_end);
+
+CREATE TABLE IF NOT EXISTS item_comment_stats (
+    item_id BIGINT PRIMARY KEY,
+    comment_count BIGINT NOT NULL,
+    revision BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+ALTER TABLE item_comment_stats ADD COLUMN IF NOT EXISTS revision BIGINT NOT NULL DEFAULT 0;
+
+INSERT INTO item_comment_stats (item_id, comment_count)
+SELECT c.item_id, COUNT(*) FROM comments c
+WHERE NOT EXISTS (SELECT 1 FROM item_comment_stats s WHERE s.item_id = c.item_id)
+GROUP BY c.item_id;
+
+CREATE INDEX IF NOT EXISTS comments_item_created_id_idx ON comments (item_id, created DESC, id DESC);
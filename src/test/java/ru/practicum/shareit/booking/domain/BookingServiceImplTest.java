@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.domain.model.Booking;
+import ru.practicum.shareit.booking.domain.model.BookingStatus;
+import ru.practicum.shareit.booking.domain.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.domain.repo.BookingRepo;
+import ru.practicum.shareit.booking.domain.repo.ItemBookingSummaryRepo;
+import ru.practicum.shareit.common.domain.exception.DataConflictException;
+import ru.practicum.shareit.common.domain.exception.ValidationException;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceImplTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @Mock
+    private ItemBookingSummaryRepo summaryRepo;
+
+    private BookingServiceImpl bookingService;
+    private User owner;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingServiceImpl(bookingRepo, summaryRepo);
+        owner = User.builder().id(1L).name("Владелец").email("owner@example.com").build();
+        booking = Booking.builder()
+                .id(10L)
+                .item(Item.builder().id(5L).owner(owner).available(true).build())
+                .booker(User.builder().id(2L).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Подтверждение выполняется одним условным обновлением без предварительного чтения")
+    void approve_UsesConditionalUpdate() {
+        booking.setStatus(BookingStatus.APPROVED);
+        when(bookingRepo.decide(10L, 1L, BookingStatus.APPROVED)).thenReturn(Optional.of(booking));
+
+        Booking result = bookingService.approve(10L, owner, true);
+
+        assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(bookingRepo, never()).findById(any());
+        verify(bookingRepo, never()).update(any());
+    }
+
+    @Test
+    @DisplayName("Подтверждение чужого бронирования отклоняется как ошибка валидации")
+    void approve_NotOwner_ThrowsValidation() {
+        User stranger = User.builder().id(3L).build();
+        when(bookingRepo.decide(10L, 3L, BookingStatus.REJECTED)).thenReturn(Optional.empty());
+        when(bookingRepo.findById(10L)).thenReturn(Optional.of(booking));
+
+        assertThrows(ValidationException.class, () -> bookingService.approve(10L, stranger, false));
+    }
+
+    @Test
+    @DisplayName("Повторное решение по уже рассмотренному бронированию даёт конфликт")
+    void approve_AlreadyDecided_ThrowsConflict() {
+        booking.setStatus(BookingStatus.APPROVED);
+        when(bookingRepo.decide(10L, 1L, BookingStatus.REJECTED)).thenReturn(Optional.empty());
+        when(bookingRepo.findById(10L)).thenReturn(Optional.of(booking));
+
+        assertThrows(DataConflictException.class, () -> bookingService.approve(10L, owner, false));
+    }
+
+    @Test
+    @DisplayName("Актуальная сводка по вещи читается без пересчёта")
+    void findSummary_Fresh_ReadsRow() {
+        ItemBookingSummary summary = new ItemBookingSummary(5L, null, LocalDateTime.now().plusDays(1), null);
+        when(summaryRepo.findByItemIds(List.of(5L))).thenReturn(List.of(summary));
+
+        assertEquals(summary, bookingService.findSummary(5L));
+        verify(summaryRepo, never()).refresh(any(), any());
+    }
+
+    @Test
+    @DisplayName("Сводка, чей следующий старт уже наступил, пересчитывается перед ответом")
+    void findSummary_Stale_Refreshes() {
+        ItemBookingSummary stale = new ItemBookingSummary(5L, null, LocalDateTime.now().minusMinutes(1), null);
+        ItemBookingSummary fresh = new ItemBookingSummary(5L, null, null, LocalDateTime.now().plusHours(1));
+        when(summaryRepo.findByItemIds(List.of(5L))).thenReturn(List.of(stale), List.of(fresh));
+
+        assertEquals(fresh, bookingService.findSummary(5L));
+        verify(summaryRepo).refresh(eq(List.of(5L)), any());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.persistence.dao;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.booking.domain.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemBookingSummaryDaoTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private NamedParameterJdbcTemplate jdbc;
+    private ItemBookingSummaryDao dao;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:booking-summary-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (1, 'Иван', 'ivan@mail.ru')", Map.of());
+        jdbc.update("INSERT INTO items (id, name, description, is_available, owner_id) "
+                + "VALUES (1, 'Дрель', 'Дрель', TRUE, 1)", Map.of());
+        booking(1, NOW.minusDays(3), NOW.minusDays(2), "APPROVED");
+        booking(2, NOW.minusHours(1), NOW.plusHours(1), "APPROVED");
+        booking(3, NOW.plusDays(1), NOW.plusDays(2), "APPROVED");
+        booking(4, NOW.plusHours(2), NOW.plusHours(3), "REJECTED");
+        dao = new ItemBookingSummaryDao(jdbc);
+    }
+
+    @Test
+    @DisplayName("Ревизия строится из самих дат и различает любые две пары дат")
+    void revision_DistinguishesDates() {
+        ItemBookingSummary summary = new ItemBookingSummary(1L, NOW.minusDays(2), NOW.plusDays(1), null);
+
+        assertEquals(summary.revision(), new ItemBookingSummary(1L, NOW.minusDays(2), NOW.plusDays(1), NOW).revision());
+        assertNotEquals(summary.revision(), new ItemBookingSummary(1L, NOW.minusDays(2), null, null).revision());
+        assertNotEquals(summary.revision(),
+                new ItemBookingSummary(1L, NOW.minusDays(2), NOW.plusDays(1).plusNanos(1000), null).revision());
+    }
+
+    @Test
+    @DisplayName("Пересчёт создаёт строку с датами подтверждённых бронирований")
+    void refresh_CreatesRow() {
+        dao.refresh(List.of(1L), NOW);
+
+        assertEquals(List.of(new ItemBookingSummary(1L, NOW.minusDays(2), NOW.plusDays(1), NOW.plusHours(1))),
+                dao.findByItemIds(List.of(1L)));
+        assertFalse(dao.findByItemIds(List.of(1L)).get(0).isStale(NOW));
+    }
+
+    @Test
+    @DisplayName("Строка устаревает, когда наступает следующий старт, и сдвигается пересчётом")
+    void findStaleItemIds_AfterNextStart() {
+        dao.refresh(List.of(1L), NOW);
+        LocalDateTime later = NOW.plusDays(1).plusMinutes(1);
+
+        assertEquals(List.of(), dao.findStaleItemIds(NOW, 10));
+        assertEquals(List.of(1L), dao.findStaleItemIds(later, 10));
+
+        dao.refresh(List.of(1L), later);
+
+        assertEquals(List.of(), dao.findStaleItemIds(later, 10));
+        assertEquals(NOW.plusHours(1), dao.findByItemIds(List.of(1L)).get(0).lastEnd());
+    }
+
+    @Test
+    @DisplayName("Сверка находит вещи без строки и строки, разошедшиеся с бронированиями")
+    void findDrifted_MissingAndChangedRows() {
+        assertEquals(List.of(1L), dao.findDrifted(List.of(1L), NOW));
+
+        dao.refresh(List.of(1L), NOW);
+        assertEquals(List.of(), dao.findDrifted(List.of(1L), NOW));
+
+        jdbc.update("UPDATE bookings SET status = 'APPROVED' WHERE id = 4", Map.of());
+        assertEquals(List.of(1L), dao.findDrifted(List.of(1L), NOW));
+    }
+
+    private void booking(long id, LocalDateTime start, LocalDateTime end, String status) {
+        jdbc.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, created, status) "
+                        + "VALUES (:id, :start, :end, 1, 1, :start, :status)",
+                new MapSqlParameterSource("id", id)
+                        .addValue("start", start)
+                        .addValue("end", end)
+                        .addValue("status", status));
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.comment.persistence.dao;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.user.domain.UserDeletingEvent;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCommentStatsTest {
+    private NamedParameterJdbcTemplate jdbc;
+    private ItemCommentStats stats;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:comment-stats-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (1, 'Иван', 'ivan@mail.ru')", Map.of());
+        jdbc.update("INSERT INTO items (id, name, description, is_available, owner_id) "
+                + "VALUES (1, 'Дрель', 'Дрель', TRUE, 1)", Map.of());
+        stats = new ItemCommentStats(jdbc);
+    }
+
+    @Test
+    @DisplayName("Первая запись счётчика берёт фактическое число отзывов, дальше счётчик только сдвигается")
+    void added_CreatesRowFromActualCountThenIncrements() {
+        comment(1);
+        comment(2);
+        stats.added(1L);
+        assertEquals(2, stats.count(1L));
+
+        comment(3);
+        stats.added(1L);
+        assertEquals(3, stats.count(1L));
+
+        stats.removed(1L);
+        assertEquals(2, stats.count(1L));
+    }
+
+    @Test
+    @DisplayName("Без отзывов счётчик равен нулю и не уходит в минус")
+    void count_NoRow_IsZero() {
+        stats.removed(1L);
+
+        assertEquals(0, stats.count(1L));
+    }
+
+    @Test
+    @DisplayName("Перед удалением автора его отзывы снимаются со счётчика, ревизия сдвигается")
+    void onUserDeleting_SubtractsAuthorComments() {
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (2, 'Пётр', 'petr@mail.ru')", Map.of());
+        comment(1);
+        comment(2, 2);
+        comment(3, 2);
+        stats.added(1L);
+        String before = stats.revision(1L, 10);
+
+        stats.onUserDeleting(new UserDeletingEvent(2L));
+        jdbc.update("DELETE FROM users WHERE id = 2", Map.of());
+
+        assertEquals(1, stats.count(1L));
+        assertNotEquals(before, stats.revision(1L, 10));
+    }
+
+    private void comment(long id) {
+        comment(id, 1);
+    }
+
+    private void comment(long id, long authorId) {
+        jdbc.update("INSERT INTO comments (id, item_id, author_id, text, created) "
+                + "VALUES (:id, 1, :authorId, 'Отлично', CURRENT_TIMESTAMP)",
+                new MapSqlParameterSource("id", id).addValue("authorId", authorId));
+    }
+
+    @Test
+    @DisplayName("Ревизия отзывов меняется при изменении отзывов и при переименовании их автора")
+    void revision_ChangesWithCommentsAndAuthors() {
+        String empty = stats.revision(1L, 10);
+        comment(1);
+        stats.added(1L);
+        String commented = stats.revision(1L, 10);
+        stats.changed(1L);
+        String edited = stats.revision(1L, 10);
+        jdbc.update("UPDATE users SET name = 'Пётр', version = version + 1 WHERE id = 1", Map.of());
+
+        assertNotEquals(empty, commented);
+        assertNotEquals(commented, edited);
+        assertNotEquals(edited, stats.revision(1L, 10));
+    }
+}
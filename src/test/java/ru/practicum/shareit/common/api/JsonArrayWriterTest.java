@@ -0,0 +1,96 @@
+package ru.practicum.shareit.common.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.item.api.dto.ItemDto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonArrayWriterTest {
+    private final JsonArrayWriter writer = new JsonArrayWriter(new ObjectMapper());
+
+    @Test
+    @DisplayName("Элементы источника пишутся в ответ одним JSON-массивом в порядке выдачи")
+    void write_WritesElementsAsArray() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(response, (Long id) -> new ItemDto(id, "Дрель " + id, "Описание", true),
+                sink -> List.of(2L, 1L).forEach(sink));
+
+        assertEquals("application/json;charset=UTF-8", response.getContentType());
+        List<Map<String, Object>> items = new ObjectMapper().readValue(response.getContentAsByteArray(),
+                new TypeReference<>() {
+                });
+        assertEquals(2, items.size());
+        assertEquals(2, items.get(0).get("id"));
+        assertEquals("Дрель 1", items.get(1).get("name"));
+    }
+
+    @Test
+    @DisplayName("Пустой источник даёт пустой массив")
+    void write_WritesEmptyArray_WhenSourceIsEmpty() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(response, Object::toString, sink -> {
+        });
+
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Словари после массива пишутся уже наполненными во время обхода")
+    void writeObject_WritesTrailerAfterArray() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<Long, String> seen = new LinkedHashMap<>();
+        Map<String, Object> trailer = new LinkedHashMap<>();
+        trailer.put("seen", seen);
+
+        writer.writeObject(response, "ids", (Long id) -> {
+            seen.put(id, "id " + id);
+            return id;
+        }, sink -> List.of(3L, 3L, 1L).forEach(sink), trailer);
+
+        assertEquals("{\"ids\":[3,3,1],\"seen\":{\"3\":\"id 3\",\"1\":\"id 1\"}}", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Ошибка источника до отправки сбрасывает ответ и уходит обработчику исключений как есть")
+    void write_ResetsResponse_WhenSourceFailsBeforeCommit() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        IllegalStateException failure = new IllegalStateException("cursor closed");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> writer.write(response, Object::toString, sink -> {
+                    sink.accept(1L);
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Ошибка источника после отправки обрывает ответ, не дописывая документ")
+    void writeObject_AbortsResponse_WhenSourceFailsAfterCommit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        IllegalStateException failure = new IllegalStateException("statement timeout");
+
+        ResponseAbortedException thrown = assertThrows(ResponseAbortedException.class,
+                () -> writer.writeObject(response, "ids", (Long id) -> id, sink -> {
+                    sink.accept(1L);
+                    response.setCommitted(true);
+                    throw failure;
+                }, Map.of("users", Map.of())));
+
+        assertSame(failure, thrown.getCause());
+        assertFalse(response.getContentAsString().endsWith("}"));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.common.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import ru.practicum.shareit.common.domain.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupScopeTest {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Результаты доступны после join, задачи выполняются параллельно")
+    void join_ReturnsResults_WhenAllLookupsSucceed() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try (LookupScope scope = open(Duration.ofSeconds(5))) {
+            Supplier<String> first = scope.fork(() -> awaitOther(bothStarted, "item"));
+            Supplier<String> second = scope.fork(() -> awaitOther(bothStarted, "user"));
+            scope.join();
+
+            assertEquals("item", first.get());
+            assertEquals("user", second.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Ошибка одной задачи пробрасывается как есть и отменяет остальные")
+    void join_RethrowsFailureAndCancelsSiblings() throws InterruptedException {
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        try (LookupScope scope = open(Duration.ofSeconds(5))) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(Duration.ofMinutes(1));
+                } catch (InterruptedException e) {
+                    siblingInterrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw new NotFoundException("Не найдено");
+            });
+
+            NotFoundException exception = assertThrows(NotFoundException.class, scope::join);
+            assertEquals("Не найдено", exception.getMessage());
+        }
+        assertTrue(siblingInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Истёкший срок приводит к QueryTimeoutException")
+    void join_ThrowsTimeout_WhenLookupIsTooSlow() {
+        try (LookupScope scope = open(Duration.ofMillis(50))) {
+            scope.fork(() -> {
+                Thread.sleep(Duration.ofMinutes(1));
+                return null;
+            });
+
+            assertThrows(QueryTimeoutException.class, scope::join);
+        }
+    }
+
+    @Test
+    @DisplayName("Чтение результата до join запрещено")
+    void get_Throws_WhenJoinWasNotCalled() {
+        CountDownLatch never = new CountDownLatch(1);
+        try (LookupScope scope = open(Duration.ofSeconds(5))) {
+            Supplier<Boolean> lookup = scope.fork(() -> never.await(1, TimeUnit.MINUTES));
+
+            assertThrows(IllegalStateException.class, lookup::get);
+        }
+    }
+
+    private LookupScope open(Duration timeout) {
+        return new LookupScope(executor, task -> task, timeout);
+    }
+
+    private static String awaitOther(CountDownLatch latch, String result) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Lookups did not run concurrently");
+        }
+        return result;
+    }
+}
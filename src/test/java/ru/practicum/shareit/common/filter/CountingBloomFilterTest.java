@@ -0,0 +1,64 @@
+package ru.practicum.shareit.common.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingBloomFilterTest {
+
+    @Test
+    @DisplayName("Добавленные строки всегда находятся, ложноотрицательных ответов нет")
+    void mightContain_AddedValues_AlwaysTrue() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@mail.ru");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@mail.ru"));
+        }
+    }
+
+    @Test
+    @DisplayName("Доля ложноположительных ответов близка к заданной")
+    void mightContain_FalsePositiveRate_IsNearConfigured() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@mail.ru");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@mail.ru")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Удаление убирает строку, не затрагивая остальные")
+    void remove_ForgetsOnlyRemovedValue() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        filter.add("ivan@mail.ru");
+        filter.add("petr@mail.ru");
+
+        filter.remove("ivan@mail.ru");
+
+        assertFalse(filter.mightContain("ivan@mail.ru"));
+        assertTrue(filter.mightContain("petr@mail.ru"));
+    }
+
+    @Test
+    @DisplayName("Повторно добавленная строка остаётся после одного удаления")
+    void remove_CountsDuplicates() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        filter.add("ivan@mail.ru");
+        filter.add("ivan@mail.ru");
+
+        filter.remove("ivan@mail.ru");
+
+        assertTrue(filter.mightContain("ivan@mail.ru"));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.repo.ItemRepo;
+import ru.practicum.shareit.item.memory.ItemInMemoryStorage;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrudMetricsAspectTest {
+    private SimpleMeterRegistry registry;
+    private ItemRepo repo;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ItemInMemoryStorage());
+        factory.addAspect(new CrudMetricsAspect(registry));
+        repo = factory.getProxy();
+        owner = User.builder().id(1L).build();
+    }
+
+    @Test
+    @DisplayName("Вызов репозитория учитывается таймером с тегами класса, метода и результата")
+    void repositoryCall_IsTimed() {
+        repo.create(Item.builder().name("Дрель").owner(owner).build());
+
+        Timer timer = registry.get(CrudMetricsAspect.REPOSITORY_TIMER)
+                .tags("class", "ItemInMemoryStorage", "method", "create", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Для списочных запросов записывается число строк")
+    void listQuery_RecordsRowCount() {
+        repo.create(Item.builder().name("Дрель").owner(owner).build());
+        repo.create(Item.builder().name("Пила").owner(owner).build());
+
+        repo.findByOwner(owner);
+
+        DistributionSummary rows = registry.get(CrudMetricsAspect.REPOSITORY_ROWS)
+                .tags("class", "ItemInMemoryStorage", "method", "findByOwner")
+                .summary();
+        assertEquals(1, rows.count());
+        assertEquals(2.0, rows.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Исключение учитывается как ERROR и пробрасывается дальше")
+    void failedCall_IsTimedAsError() {
+        assertThrows(NoSuchElementException.class, () -> repo.update(Item.builder().id(99L).build()));
+
+        Timer timer = registry.get(CrudMetricsAspect.REPOSITORY_TIMER)
+                .tags("method", "update", "outcome", "ERROR", "exception", "NoSuchElementException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("При включённой записи JFR вызов репозитория пишется событием с числом строк")
+    void repositoryCall_EmitsJfrEvent() throws Exception {
+        Path file = Files.createTempFile("shareit", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ru.practicum.shareit.RepositoryCall");
+            recording.start();
+            repo.create(Item.builder().name("Дрель").owner(owner).build());
+            repo.findByOwner(owner);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent findByOwner = events.stream()
+                    .filter(event -> "findByOwner".equals(event.getString("method")))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("ItemInMemoryStorage", findByOwner.getString("repository"));
+            assertEquals(1, findByOwner.getInt("rows"));
+            assertEquals("SUCCESS", findByOwner.getString("outcome"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
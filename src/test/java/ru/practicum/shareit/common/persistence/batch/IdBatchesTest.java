@@ -0,0 +1,41 @@
+package ru.practicum.shareit.common.persistence.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBatchesTest {
+
+    @Test
+    @DisplayName("Длинный список id разбивается на запросы не длиннее CHUNK_SIZE")
+    void findAll_SplitsIntoChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, IdBatches.CHUNK_SIZE * 2L + 1).boxed().toList();
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        List<User> users = IdBatches.findAll(ids, chunk -> {
+            chunkSizes.add(chunk.size());
+            return chunk.stream().map(id -> User.builder().id(id).build()).toList();
+        });
+
+        assertEquals(List.of(IdBatches.CHUNK_SIZE, IdBatches.CHUNK_SIZE, 1), chunkSizes);
+        assertEquals(ids.size(), users.size());
+    }
+
+    @Test
+    @DisplayName("Результат идёт в порядке запроса, без повторов и отсутствующих строк")
+    void findAll_KeepsRequestOrder() {
+        List<User> users = IdBatches.findAll(Arrays.asList(3L, 1L, null, 3L, 99L, 2L), chunk -> List.of(
+                User.builder().id(1L).build(),
+                User.builder().id(2L).build(),
+                User.builder().id(3L).build()));
+
+        assertEquals(List.of(3L, 1L, 2L), users.stream().map(User::getId).toList());
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.common.persistence.routing;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica";
+
+    private ReplicaHealthMonitor replicaHealth;
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2(PRIMARY_URL);
+        DataSource replica = h2(REPLICA_URL);
+        replicaHealth = new ReplicaHealthMonitor(replica, Duration.ofSeconds(1));
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        dataSource = new ReadWriteRoutingDataSource(primary, replica, replicaHealth, tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        tracker.clear();
+    }
+
+    @Test
+    @DisplayName("Пишущие транзакции идут на primary")
+    void writesGoToPrimary() throws SQLException {
+        assertEquals(PRIMARY_URL, urlOfConnection());
+    }
+
+    @Test
+    @DisplayName("Read-only транзакции идут на реплику")
+    void readOnlyGoesToReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(REPLICA_URL, urlOfConnection());
+    }
+
+    @Test
+    @DisplayName("При недоступной реплике чтение идёт на primary")
+    void readOnlyFallsBackToPrimary_WhenReplicaUnavailable() throws SQLException {
+        replicaHealth.markUnavailable(new SQLException("down"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(PRIMARY_URL, urlOfConnection());
+    }
+
+    @Test
+    @DisplayName("Пользователь после записи читает с primary, остальные с реплики")
+    void userReadsOwnWritesFromPrimary() throws SQLException {
+        tracker.bind(1L);
+        urlOfConnection();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(PRIMARY_URL, urlOfConnection());
+
+        tracker.bind(2L);
+        assertEquals(REPLICA_URL, urlOfConnection());
+    }
+
+    private String urlOfConnection() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private static DataSource h2(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        return dataSource;
+    }
+}
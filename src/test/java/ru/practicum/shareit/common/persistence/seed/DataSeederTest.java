@@ -0,0 +1,93 @@
+package ru.practicum.shareit.common.persistence.seed;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSeederTest {
+    private static final String BOOKINGS_DIGEST = "SELECT id, item_id, booker_id, start_date, status FROM bookings ORDER BY id";
+
+    @Test
+    @DisplayName("Заполняет все таблицы заданным числом строк")
+    void seed_FillsAllTables() {
+        JdbcTemplate jdbc = database("seed-counts");
+
+        seeder(jdbc).seed();
+
+        assertEquals(50L, count(jdbc, "users"));
+        assertEquals(10L, count(jdbc, "requests"));
+        assertEquals(200L, count(jdbc, "items"));
+        assertEquals(1000L, count(jdbc, "bookings"));
+        assertEquals(100L, count(jdbc, "comments"));
+    }
+
+    @Test
+    @DisplayName("Одинаковые настройки дают одинаковые данные")
+    void seed_IsDeterministic() {
+        JdbcTemplate first = database("seed-first");
+        JdbcTemplate second = database("seed-second");
+
+        seeder(first).seed();
+        seeder(second).seed();
+
+        List<Map<String, Object>> expected = first.queryForList(BOOKINGS_DIGEST);
+        assertEquals(expected, second.queryForList(BOOKINGS_DIGEST));
+    }
+
+    @Test
+    @DisplayName("Повторный запуск дописывает данные, identity продолжается после новых id")
+    void seed_AppendsAndRestartsIdentity() {
+        JdbcTemplate jdbc = database("seed-append");
+
+        seeder(jdbc).seed();
+        seeder(jdbc).seed();
+        jdbc.update("INSERT INTO users (name, email) VALUES ('new', 'new@mail.ru')");
+
+        assertEquals(101L, count(jdbc, "users"));
+        assertEquals(101L, jdbc.queryForObject("SELECT id FROM users WHERE email = 'new@mail.ru'", Long.class));
+    }
+
+    @Test
+    @DisplayName("Вещи распределены по владельцам неравномерно")
+    void seed_SkewsItemsTowardsFirstOwners() {
+        JdbcTemplate jdbc = database("seed-skew");
+
+        seeder(jdbc).seed();
+
+        Long firstTenthOwners = jdbc.queryForObject("SELECT COUNT(*) FROM items WHERE owner_id <= 5", Long.class);
+        assertTrue(firstTenthOwners > 60, "first 10% of owners hold " + firstTenthOwners + " of 200 items");
+    }
+
+    private static DataSeeder seeder(JdbcTemplate jdbc) {
+        SeedProperties properties = new SeedProperties();
+        properties.setUsers(50);
+        properties.setRequests(10);
+        properties.setItems(200);
+        properties.setBookings(1000);
+        properties.setComments(100);
+        properties.setBatchSize(64);
+        properties.setReferenceTime(LocalDateTime.of(2025, 1, 1, 0, 0));
+        return new DataSeeder(jdbc, new JdbcBatchSeedWriter(jdbc, properties.getBatchSize()), properties);
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    private static long count(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryDataSourceTest {
+    private JdbcDataSource h2;
+    private SlowQueryLog log;
+    private List<SlowQuery> notified;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-queries;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS things");
+            statement.execute("CREATE TABLE things (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("INSERT INTO things VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+        }
+        log = new SlowQueryLog(10);
+        notified = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Медленный запрос записывается с типами параметров, числом строк и вызвавшим методом")
+    void slowQuery_IsRecordedWithShapes() throws SQLException {
+        SlowQueryDataSource dataSource = new SlowQueryDataSource(h2, log, 0, notified::add);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT * FROM things WHERE id >= ? AND name <> ?")) {
+            statement.setLong(1, 2L);
+            statement.setString(2, "secret");
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+        }
+
+        SlowQuery query = log.snapshot().get(0);
+        assertEquals("SELECT * FROM things WHERE id >= ? AND name <> ?", query.sql());
+        assertEquals(List.of("Long", "String"), query.parameters());
+        assertEquals(2, query.rows());
+        assertEquals("SlowQueryDataSourceTest.slowQuery_IsRecordedWithShapes", query.caller());
+        assertFalse(query.toString().contains("secret"));
+        assertEquals(List.of(query), notified);
+    }
+
+    @Test
+    @DisplayName("Для изменяющих запросов записывается число затронутых строк")
+    void update_RecordsUpdateCount() throws SQLException {
+        SlowQueryDataSource dataSource = new SlowQueryDataSource(h2, log, 0, notified::add);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE things SET name = ? WHERE id < ?")) {
+            statement.setNull(1, Types.VARCHAR);
+            statement.setObject(2, 3);
+            statement.executeUpdate();
+        }
+
+        SlowQuery query = log.snapshot().get(0);
+        assertEquals(2, query.rows());
+        assertEquals(List.of("NULL", "Integer"), query.parameters());
+    }
+
+    @Test
+    @DisplayName("Быстрые запросы не записываются")
+    void fastQuery_IsNotRecorded() throws SQLException {
+        SlowQueryDataSource dataSource = new SlowQueryDataSource(h2, log, 60_000, notified::add);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM things")) {
+            rs.next();
+        }
+
+        assertTrue(log.snapshot().isEmpty());
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Журнал хранит последние записи, от новых к старым")
+    void log_KeepsLatestEntries() {
+        SlowQueryLog small = new SlowQueryLog(2);
+        small.add(1, "q1", List.of(), 0, "a");
+        small.add(1, "q2", List.of(), 0, "a");
+        SlowQuery last = small.add(1, "q3", List.of(), 0, "a");
+        small.attachPlan(last.id(), "Seq Scan");
+
+        List<SlowQuery> snapshot = small.snapshot();
+
+        assertEquals(List.of("q3", "q2"), snapshot.stream().map(SlowQuery::sql).toList());
+        assertEquals("Seq Scan", snapshot.get(0).plan());
+    }
+
+    @Test
+    @DisplayName("Параметры JDBC заменяются на позиционные, литералы не меняются")
+    void toPositional_ReplacesPlaceholdersOutsideLiterals() {
+        QueryPlanCapture.Positional positional =
+                QueryPlanCapture.toPositional("select * from items where name = '?' and id = ? and owner_id = ?");
+
+        assertEquals("select * from items where name = '?' and id = $1 and owner_id = $2", positional.sql());
+        assertEquals(2, positional.parameters());
+    }
+
+    @Test
+    @DisplayName("Закрытие обёртки останавливает снятие планов и закрывает пул")
+    void close_ShutsDownPlanCaptureAndPool() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:slow-queries;DB_CLOSE_DELAY=-1");
+        QueryPlanCapture capture = new QueryPlanCapture(pool, log);
+        SlowQueryDataSource dataSource = new SlowQueryDataSource(pool, log, 0, capture);
+
+        dataSource.close();
+
+        assertTrue(pool.isClosed());
+        capture.accept(new SlowQuery(1, Instant.now(), 1, "select 1", List.of(), 0, "a", null));
+        assertNull(log.snapshot().stream().findFirst().map(SlowQuery::plan).orElse(null));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.common.persistence.slowquery;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    @Test
+    @DisplayName("После clear снимок пуст, а новые записи идут без пустых слотов")
+    void snapshot_SkipsClearedSlots() {
+        SlowQueryLog log = new SlowQueryLog(4);
+        log.add(150, "SELECT 1", List.of(), 1, "test");
+        log.add(200, "SELECT 2", List.of(), 1, "test");
+
+        log.clear();
+        assertEquals(List.of(), log.snapshot());
+
+        SlowQuery added = log.add(300, "SELECT 3", List.of(), 1, "test");
+        assertEquals(List.of(added), log.snapshot());
+        assertEquals(3, added.id());
+    }
+
+    @Test
+    @DisplayName("План для записи, стёртой clear, не цепляется к новым записям")
+    void attachPlan_IgnoresClearedEntry() {
+        SlowQueryLog log = new SlowQueryLog(4);
+        long oldId = log.add(150, "SELECT 1", List.of(), 1, "test").id();
+        log.clear();
+        log.add(200, "SELECT 2", List.of(), 1, "test");
+
+        log.attachPlan(oldId, "Seq Scan");
+
+        assertNull(log.snapshot().get(0).plan());
+    }
+}
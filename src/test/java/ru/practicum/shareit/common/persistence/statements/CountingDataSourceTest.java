@@ -0,0 +1,48 @@
+package ru.practicum.shareit.common.persistence.statements;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountingDataSourceTest {
+    private StatementCounter counter;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:counting;DB_CLOSE_DELAY=-1");
+        counter = new StatementCounter();
+        jdbc = new JdbcTemplate(new CountingDataSource(h2, counter));
+        jdbc.execute("CREATE TABLE IF NOT EXISTS t (id BIGINT PRIMARY KEY)");
+        jdbc.execute("DELETE FROM t");
+    }
+
+    @Test
+    @DisplayName("Запросы JdbcTemplate учитываются, пакет считается одним обращением")
+    void jdbcTemplateStatements_AreCounted() {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbc);
+        counter.begin();
+        named.batchUpdate("INSERT INTO t (id) VALUES (:id)", new MapSqlParameterSource[]{
+                new MapSqlParameterSource("id", 1), new MapSqlParameterSource("id", 2)});
+        for (long id = 1; id <= 2; id++) {
+            named.queryForList("SELECT id FROM t WHERE id = :id", Map.of("id", id), Long.class);
+        }
+        List<Long> all = jdbc.queryForList("SELECT id FROM t", Long.class);
+
+        StatementCounter.Statements statements = counter.end();
+
+        assertEquals(2, all.size());
+        assertEquals(4, statements.total());
+        assertEquals(2, statements.repeated(2).get("SELECT id FROM t WHERE id = ?"));
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.common.persistence.statements;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+    private static final String USER_BY_ID = "select u.id, u.name from users u where u.id=?";
+
+    private StatementCounter counter;
+    private SqlMonitorProperties properties;
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter();
+        properties = new SqlMonitorProperties();
+        properties.setMode(SqlMonitorProperties.Mode.FAIL);
+        properties.setDefaultBudget(3);
+        filter = new QueryBudgetFilter(counter, properties);
+    }
+
+    @Test
+    @DisplayName("Запрос в пределах лимита проходит")
+    void withinBudget_Passes() {
+        assertDoesNotThrow(() -> run("/items/{id}", 3));
+    }
+
+    @Test
+    @DisplayName("В режиме FAIL превышение лимита приводит к ошибке")
+    void overBudget_Fails_InFailMode() {
+        QueryBudgetExceededException e = assertThrows(QueryBudgetExceededException.class,
+                () -> run("/items/{id}", 4));
+
+        assertTrue(e.getMessage().contains("GET /items/{id}"));
+    }
+
+    @Test
+    @DisplayName("В режиме LOG превышение лимита только логируется")
+    void overBudget_OnlyLogs_InLogMode() {
+        properties.setMode(SqlMonitorProperties.Mode.LOG);
+
+        assertDoesNotThrow(() -> run("/items/{id}", 10));
+    }
+
+    @Test
+    @DisplayName("Лимит эндпоинта задаётся шаблоном пути или методом с шаблоном")
+    void endpointBudget_OverridesDefault() {
+        properties.getBudgets().put("/bookings/owner", 10);
+        properties.getBudgets().put("GET /items/{id}", 1);
+
+        assertDoesNotThrow(() -> run("/bookings/owner", 10));
+        assertThrows(QueryBudgetExceededException.class, () -> run("/items/{id}", 2));
+    }
+
+    @Test
+    @DisplayName("Запросы из параллельных подзадач учитываются")
+    void statementsFromForkedTasks_AreCounted() {
+        FilterChain chain = (req, res) -> {
+            Runnable lookup = counter.propagate(() -> {
+                for (int i = 0; i < 4; i++) {
+                    counter.record(USER_BY_ID);
+                }
+            });
+            CompletableFuture.runAsync(lookup).join();
+        };
+
+        assertThrows(QueryBudgetExceededException.class, () -> filter.doFilter(request("/items/{id}"),
+                new MockHttpServletResponse(), chain));
+    }
+
+    @Test
+    @DisplayName("В режиме FAIL сброшенный обработчиком ответ не уходит клиенту до проверки")
+    void flushedResponse_IsHeldBack_InFailMode() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.getOutputStream().write("[{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            for (int i = 0; i < 4; i++) {
+                counter.record(USER_BY_ID);
+            }
+        };
+
+        assertThrows(QueryBudgetExceededException.class, () -> filter.doFilter(request("/items"), response, chain));
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentLength());
+    }
+
+    @Test
+    @DisplayName("Ответ в пределах лимита в режиме FAIL доходит до клиента целиком")
+    void bufferedResponse_IsCopied_WhenWithinBudget() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request("/items"), response, chain);
+
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Повторы одного запроса находятся по порогу")
+    void repeatedStatements_AreDetected() {
+        counter.begin();
+        for (int i = 0; i < 3; i++) {
+            counter.record(USER_BY_ID);
+        }
+        counter.record("select i.id from items i where i.id=?");
+
+        StatementCounter.Statements statements = counter.end();
+
+        assertEquals(4, statements.total());
+        assertEquals(1, statements.repeated(3).size());
+        assertEquals(3, statements.repeated(3).get(USER_BY_ID));
+    }
+
+    private void run(String pattern, int statements) throws Exception {
+        FilterChain chain = (req, res) -> {
+            for (int i = 0; i < statements; i++) {
+                counter.record(USER_BY_ID);
+            }
+        };
+        filter.doFilter(request(pattern), new MockHttpServletResponse(), chain);
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
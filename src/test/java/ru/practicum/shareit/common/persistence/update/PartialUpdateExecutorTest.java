@@ -0,0 +1,82 @@
+package ru.practicum.shareit.common.persistence.update;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartialUpdateExecutorTest {
+    private static final RowMapper<String[]> USER = (rs, rowNum) ->
+            new String[]{rs.getString("name"), rs.getString("email")};
+
+    private NamedParameterJdbcTemplate jdbc;
+    private PartialUpdateExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:partial-update-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (1, 'Иван', 'ivan@mail.ru')", Map.of());
+        executor = new PartialUpdateExecutor(jdbc);
+    }
+
+    @Test
+    @DisplayName("Меняются только заданные колонки, обновлённая строка возвращается тем же запросом")
+    void updateReturning_ChangesOnlyNonNullColumns() {
+        Optional<String[]> user = executor.updateReturning(PartialUpdate.table("users")
+                .set("name", "Пётр")
+                .set("email", null)
+                .where("id", 1L), USER);
+
+        assertTrue(user.isPresent());
+        assertArrayEquals(new String[]{"Пётр", "ivan@mail.ru"}, user.get());
+    }
+
+    @Test
+    @DisplayName("Несуществующая строка даёт пустой результат")
+    void updateReturning_MissingRow_IsEmpty() {
+        assertTrue(executor.updateReturning(PartialUpdate.table("users")
+                .set("name", "Пётр")
+                .where("id", 99L), USER).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Без изменяемых колонок строка только читается")
+    void updateReturning_NothingToSet_ReadsRow() {
+        Optional<String[]> user = executor.updateReturning(PartialUpdate.table("users").where("id", 1L), USER);
+
+        assertArrayEquals(new String[]{"Иван", "ivan@mail.ru"}, user.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("SQL содержит только заданные колонки и инкремент версии")
+    void updateSql_ListsOnlyGivenColumns() {
+        PartialUpdate update = PartialUpdate.table("bookings")
+                .set("status", "APPROVED")
+                .set("start_date", null)
+                .increment("version")
+                .where("id", 1L)
+                .where("version", 3L);
+
+        assertEquals("UPDATE bookings SET status = :v_status, version = version + 1"
+                + " WHERE id = :w_id AND version = :w_version", update.updateSql());
+    }
+
+    @Test
+    @DisplayName("Имена колонок проверяются, чтобы в SQL не попал произвольный текст")
+    void set_RejectsInvalidIdentifier() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PartialUpdate.table("users").set("name = 'x' --", "x"));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import ru.practicum.shareit.item.api.dto.ItemDto;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.request.domain.model.ItemRequest;
 import ru.practicum.shareit.user.domain.model.User;
 
@@ -133,8 +134,8 @@ class ItemMapperTest {
     }
 
     @Test
-    @DisplayName("toDto преобразует Item с owner и request (они игнорируются)")
-    void toDto_ConvertsItem_IgnoresOwnerAndRequest() {
+    @DisplayName("toDto преобразует Item с owner и request (owner игнорируется, от request остаётся id)")
+    void toDto_ConvertsItem_IgnoresOwnerKeepsRequestId() {
         User owner = User.builder()
                 .id(1L)
                 .name("Владелец")
@@ -161,7 +162,7 @@ class ItemMapperTest {
         assertEquals("Дрель", dto.name());
         assertEquals("Описание", dto.description());
         assertTrue(dto.available());
-        // Поля owner и request не копируются в DTO
+        assertEquals(1L, dto.requestId());
     }
 
     @Test
@@ -508,4 +509,14 @@ class ItemMapperTest {
         assertNull(convertedItem.getDescription());
         assertNull(convertedItem.getAvailable());
     }
+
+    @Test
+    @DisplayName("viewToDto преобразует ItemView в ItemDto со всеми полями")
+    void viewToDto_ConvertsItemViewToItemDto_WithAllFields() {
+        ItemView view = new ItemView(1L, "Дрель", "Аккумуляторная дрель", true, 7L);
+
+        ItemDto dto = itemMapper.viewToDto(view);
+
+        assertEquals(new ItemDto(1L, "Дрель", "Аккумуляторная дрель", true, 7L), dto);
+    }
 }
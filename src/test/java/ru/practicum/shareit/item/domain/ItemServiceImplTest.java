@@ -9,12 +9,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.common.domain.exception.NotFoundException;
 import ru.practicum.shareit.common.domain.exception.ValidationException;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.item.domain.repo.ItemRepo;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Collections;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -463,4 +466,33 @@ class ItemServiceImplTest {
         assertEquals(1, items.size());
         verify(itemRepo).findByTextContainsInNameAndDescription(searchText);
     }
+
+    @Test
+    @DisplayName("forEachViewByOwner бросает ValidationException при user без id")
+    void forEachViewByOwner_ThrowsValidationException_WhenUserIdIsNull() {
+        User userWithoutId = User.builder().name("Без id").build();
+
+        assertThrows(ValidationException.class, () -> itemService.forEachViewByOwner(userWithoutId, view -> { }));
+        verify(itemRepo, never()).forEachViewByOwner(any(), any());
+    }
+
+    @Test
+    @DisplayName("Потоковый поиск при пустом тексте ничего не отдаёт и не ходит в хранилище")
+    void forEachViewByText_SkipsRepo_WhenTextIsBlank() {
+        List<ItemView> views = new ArrayList<>();
+
+        itemService.forEachViewByTextContainsInNameAndDescription(" ", views::add);
+
+        assertThat(views).isEmpty();
+        verify(itemRepo, never()).forEachViewByTextContainsInNameAndDescription(any(), any());
+    }
+
+    @Test
+    @DisplayName("findAllByIds отклоняет слишком длинный список id без обращения к хранилищу")
+    void findAllByIds_ThrowsValidationException_WhenTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, ItemServiceImpl.MAX_BULK_IDS + 1).boxed().toList();
+
+        assertThrows(ValidationException.class, () -> itemService.findAllByIds(ids));
+        verifyNoInteractions(itemRepo);
+    }
 }
@@ -5,11 +5,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.item.domain.model.Item;
+import ru.practicum.shareit.item.domain.model.ItemView;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -290,4 +296,71 @@ public class ItemInMemoryStorageTest {
         Item updated = storage.update(updateData);
         assertEquals(originalId, updated.getId());
     }
+
+    @Test
+    @DisplayName("Проекции вещей владельца совпадают с самими вещами")
+    void forEachViewByOwner_shouldPassViewsOfOwnerItems() {
+        Item created1 = storage.create(item1);
+        Item created2 = storage.create(item2);
+        storage.create(item3);
+        List<ItemView> views = new ArrayList<>();
+
+        storage.forEachViewByOwner(testUser1, views::add);
+
+        assertThat(views).containsExactlyInAnyOrder(
+                new ItemView(created1.getId(), "Дрель", "Аккумуляторная дрель мощная", true, null),
+                new ItemView(created2.getId(), "Перфоратор", "Перфоратор для бетона", false, null));
+    }
+
+    @Test
+    @DisplayName("Поиск проекций возвращает только доступные вещи")
+    void forEachViewByText_shouldPassOnlyAvailableItems() {
+        storage.create(item1);
+        storage.create(item2);
+        Item created3 = storage.create(item3);
+        List<ItemView> views = new ArrayList<>();
+
+        storage.forEachViewByTextContainsInNameAndDescription("шуруповерт", views::add);
+
+        assertThat(views).extracting(ItemView::id).containsExactly(created3.getId());
+    }
+
+    @Test
+    @DisplayName("Параллельное создание Item выдаёт уникальные ID")
+    void create_shouldGenerateUniqueIds_whenCalledConcurrently() {
+        int count = 1_000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                executor.submit(() -> storage.create(item1));
+            }
+        }
+
+        Set<Long> ids = storage.findByOwner(testUser1).stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        assertEquals(count, ids.size());
+    }
+
+    @Test
+    @DisplayName("findAllByIds возвращает найденные вещи в порядке запроса")
+    void findAllByIds_ReturnsFoundItemsInRequestOrder() {
+        Item created1 = storage.create(item1);
+        Item created2 = storage.create(item2);
+
+        List<Item> found = storage.findAllByIds(List.of(created2.getId(), 999L, created1.getId()));
+
+        assertThat(found).extracting(Item::getId).containsExactly(created2.getId(), created1.getId());
+    }
+
+    @Test
+    @DisplayName("Ревизия для ETag меняется при обновлении и отсутствует у несуществующего Item")
+    void findRevision_changesOnUpdate() {
+        Item created = storage.create(item1);
+        String before = storage.findRevision(created.getId()).orElseThrow();
+
+        storage.update(Item.builder().id(created.getId()).name("Дрель ударная").build());
+
+        assertNotEquals(before, storage.findRevision(created.getId()).orElseThrow());
+        assertTrue(storage.findRevision(999L).isEmpty());
+    }
 }
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.request.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.common.domain.exception.ValidationException;
+import ru.practicum.shareit.request.domain.model.ItemRequest;
+import ru.practicum.shareit.request.domain.repo.ItemRequestRepo;
+import ru.practicum.shareit.user.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemRequestServiceImplTest {
+
+    @Mock
+    private ItemRequestRepo requestRepo;
+
+    private ItemRequestServiceImpl requestService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        requestService = new ItemRequestServiceImpl(requestRepo);
+        user = User.builder().id(1L).name("Пользователь").email("user@example.com").build();
+    }
+
+    @Test
+    @DisplayName("Создание запроса проставляет дату создания")
+    void save_New_SetsCreated() {
+        ItemRequest request = ItemRequest.builder().description("Нужна дрель").requester(user).build();
+        when(requestRepo.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemRequest created = requestService.save(request);
+
+        assertNotNull(created.getCreated());
+    }
+
+    @Test
+    @DisplayName("Запрос с пустым описанием не создаётся")
+    void save_BlankDescription_ThrowsValidation() {
+        ItemRequest request = ItemRequest.builder().description(" ").requester(user).build();
+
+        assertThrows(ValidationException.class, () -> requestService.save(request));
+        verify(requestRepo, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("Страница чужих запросов передаёт курсор в репозиторий")
+    void findOthers_PassesCursor() {
+        LocalDateTime before = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(requestRepo.findOthers(user, before, 7L, 10)).thenReturn(List.of());
+
+        assertEquals(List.of(), requestService.findOthers(user, before, 7L, 10));
+    }
+
+    @Test
+    @DisplayName("Неполный курсор и неверный размер страницы отклоняются")
+    void findOthers_InvalidPaging_ThrowsValidation() {
+        LocalDateTime before = LocalDateTime.now();
+
+        assertThrows(ValidationException.class, () -> requestService.findOthers(user, before, null, 10));
+        assertThrows(ValidationException.class, () -> requestService.findOthers(user, null, null, 0));
+        assertThrows(ValidationException.class,
+                () -> requestService.findOthers(user, null, null, ItemRequestServiceImpl.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(requestRepo);
+    }
+}
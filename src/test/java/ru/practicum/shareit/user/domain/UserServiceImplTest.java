@@ -52,7 +52,6 @@ class UserServiceImplTest {
     @Test
     @DisplayName("create успешно создает пользователя с валидными данными")
     void create_SuccessfullyCreatesUser_WithValidData() {
-        when(userRepo.isEmailAlreadyExists("valid@example.com")).thenReturn(false);
         when(userRepo.create(validUser)).thenReturn(validUser);
 
         User created = userService.save(validUser);
@@ -111,9 +110,10 @@ class UserServiceImplTest {
     }
 
     @Test
-    @DisplayName("create бросает DataConflictException при существующем email")
+    @DisplayName("create пробрасывает DataConflictException от уникального индекса почты")
     void create_ThrowsDataConflictException_WhenEmailAlreadyExists() {
-        when(userRepo.isEmailAlreadyExists("existing@example.com")).thenReturn(true);
+        when(userRepo.create(any()))
+                .thenThrow(new DataConflictException("Пользователь с такой почтой уже существует"));
 
         User userWithExistingEmail = User.builder()
                 .name("Пользователь с существующим email")
@@ -125,6 +125,19 @@ class UserServiceImplTest {
 
         assertEquals("Пользователь с такой почтой уже существует", exception.getMessage());
         verify(userRepo).isEmailAlreadyExists("existing@example.com");
+    }
+
+    @Test
+    @DisplayName("create отклоняет занятую почту по предпроверке без попытки вставки")
+    void create_ThrowsDataConflictException_WhenPreCheckFindsEmail() {
+        when(userRepo.isEmailAlreadyExists("existing@example.com")).thenReturn(true);
+
+        User userWithExistingEmail = User.builder()
+                .name("Пользователь с существующим email")
+                .email("Existing@Example.com")
+                .build();
+
+        assertThrows(DataConflictException.class, () -> userService.save(userWithExistingEmail));
         verify(userRepo, never()).create(any());
     }
 
@@ -179,13 +192,11 @@ class UserServiceImplTest {
                 .email("a@b.c")
                 .build();
 
-        when(userRepo.isEmailAlreadyExists("a@b.c")).thenReturn(false);
         when(userRepo.create(userWithMinimalEmail)).thenReturn(userWithMinimalEmail);
 
         User created = userService.save(userWithMinimalEmail);
 
         assertNotNull(created);
-        verify(userRepo).isEmailAlreadyExists("a@b.c");
         verify(userRepo).create(userWithMinimalEmail);
     }
 
@@ -200,40 +211,33 @@ class UserServiceImplTest {
                 .build();
 
         when(userRepo.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(userRepo.isEmailAlreadyExists(complexEmail)).thenReturn(false);
         when(userRepo.update(updateData)).thenReturn(updateData);
 
         User updated = userService.save(updateData);
 
         assertNotNull(updated);
         assertEquals(complexEmail, updated.getEmail());
-        verify(userRepo).isEmailAlreadyExists(complexEmail);
     }
 
     @Test
-    @DisplayName("Проверка на регистрозависимость email")
-    void create_HandlesEmailCaseSensitivity() {
-        String email = "Test@Example.COM";
+    @DisplayName("Почта сохраняется в нормализованном виде: без пробелов и в нижнем регистре")
+    void create_NormalizesEmail() {
         User userWithUpperCaseEmail = User.builder()
                 .name("Пользователь")
-                .email(email)
+                .email(" Test@Example.COM ")
                 .build();
 
-        // Предполагаем, что проверка регистрозависимая
-        when(userRepo.isEmailAlreadyExists(email)).thenReturn(false);
         when(userRepo.create(userWithUpperCaseEmail)).thenReturn(userWithUpperCaseEmail);
 
         User created = userService.save(userWithUpperCaseEmail);
 
-        assertNotNull(created);
-        verify(userRepo).isEmailAlreadyExists(email);
+        assertEquals("test@example.com", created.getEmail());
     }
 
     @Test
     @DisplayName("Полный жизненный цикл пользователя через сервис")
     void fullUserLifecycle_ThroughService() {
         // 1. Создание пользователя
-        when(userRepo.isEmailAlreadyExists("newuser@example.com")).thenReturn(false);
         User userToCreate = User.builder()
                 .name("Новый пользователь")
                 .email("newuser@example.com")
@@ -277,7 +281,6 @@ class UserServiceImplTest {
                 .id(1L)
                 .email(newEmail)
                 .build();
-        when(userRepo.isEmailAlreadyExists(newEmail)).thenReturn(false);
         User emailUpdatedUser = User.builder()
                 .id(1L)
                 .name("Обновленное имя")
@@ -307,7 +310,6 @@ class UserServiceImplTest {
                 .email("user1@example.com")
                 .build();
 
-        when(userRepo.isEmailAlreadyExists("user1@example.com")).thenReturn(false);
         when(userRepo.create(user1)).thenReturn(createdUser1);
 
         User created1 = userService.save(user1);
@@ -324,7 +326,6 @@ class UserServiceImplTest {
                 .email("user2@example.com")
                 .build();
 
-        when(userRepo.isEmailAlreadyExists("user2@example.com")).thenReturn(false);
         when(userRepo.create(user2)).thenReturn(createdUser2);
 
         User created2 = userService.save(user2);
@@ -336,14 +337,15 @@ class UserServiceImplTest {
                 .email("user1@example.com") // Такой же как у первого
                 .build();
 
-        when(userRepo.isEmailAlreadyExists("user1@example.com")).thenReturn(true);
+        when(userRepo.create(user3))
+                .thenThrow(new DataConflictException("Пользователь с такой почтой уже существует"));
 
         DataConflictException exception = assertThrows(DataConflictException.class,
                 () -> userService.save(user3));
 
         assertEquals("Пользователь с такой почтой уже существует", exception.getMessage());
 
-        // Проверяем что create вызывался только два раза
-        verify(userRepo, times(2)).create(any());
+        // Предпроверка выполнялась для каждой регистрации
+        verify(userRepo, times(3)).isEmailAlreadyExists(any());
     }
 }
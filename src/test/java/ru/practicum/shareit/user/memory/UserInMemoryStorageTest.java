@@ -4,10 +4,14 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import ru.practicum.shareit.common.domain.exception.DataConflictException;
 import ru.practicum.shareit.user.domain.model.User;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -315,4 +319,64 @@ public class UserInMemoryStorageTest {
         assertEquals("Иван Иванов", found1.get().getName());
         assertEquals("Петр Петров", found2.get().getName());
     }
+
+    @Test
+    @DisplayName("create отклоняет почту, отличающуюся от занятой только регистром")
+    void create_ThrowsDataConflict_WhenEmailTakenIgnoringCase() {
+        storage.create(user1);
+        User duplicate = User.builder()
+                .name("Другой Иван")
+                .email("IVAN@example.com")
+                .build();
+
+        assertThrows(DataConflictException.class, () -> storage.create(duplicate));
+    }
+
+    @Test
+    @DisplayName("update отклоняет почту другого пользователя и освобождает прежнюю при смене")
+    void update_ChecksAndReleasesEmails() {
+        User created1 = storage.create(user1);
+        User created2 = storage.create(user2);
+
+        assertThrows(DataConflictException.class, () -> storage.update(User.builder()
+                .id(created2.getId())
+                .email("ivan@example.com")
+                .build()));
+
+        storage.update(User.builder().id(created1.getId()).email("ivan.new@example.com").build());
+
+        assertFalse(storage.isEmailAlreadyExists("ivan@example.com"));
+        assertTrue(storage.isEmailAlreadyExists("ivan.new@example.com"));
+    }
+
+    @Test
+    @DisplayName("Параллельное создание с одной почтой пропускает ровно одного пользователя")
+    void create_ConcurrentSameEmail_OnlyOneWins() {
+        List<CompletableFuture<Boolean>> attempts = IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        storage.create(User.builder().name("Иван " + i).email("IVAN@example.com").build());
+                        return true;
+                    } catch (DataConflictException e) {
+                        return false;
+                    }
+                }))
+                .toList();
+
+        long created = attempts.stream().filter(CompletableFuture::join).count();
+
+        assertEquals(1, created);
+        assertTrue(storage.isEmailAlreadyExists("ivan@example.com"));
+    }
+
+    @Test
+    @DisplayName("Неудачное обновление освобождает забронированную почту")
+    void update_ReleasesReservation_WhenUserMissing() {
+        assertThrows(NoSuchElementException.class, () -> storage.update(User.builder()
+                .id(999L)
+                .email("ghost@example.com")
+                .build()));
+
+        assertFalse(storage.isEmailAlreadyExists("ghost@example.com"));
+    }
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user.persistence;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptStatementFailedException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserEmailSchemaTest {
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:user-email-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("Старт со старыми адресами, различающимися только регистром, падает, а не переписывает их")
+    void schema_FailsOnLegacyCaseInsensitiveDuplicates() {
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (1, 'Иван', 'Ivan@Mail.ru'), "
+                + "(2, 'Двойник', 'ivan@mail.ru')");
+
+        assertThrows(ScriptStatementFailedException.class, this::migrate);
+        assertEquals(List.of("Ivan@Mail.ru", "ivan@mail.ru"),
+                jdbc.queryForList("SELECT email FROM users ORDER BY id", String.class));
+    }
+
+    @Test
+    @DisplayName("Разовая миграция приводит адреса к нижнему регистру, дубликаты получают метку")
+    void manualMigration_NormalisesLegacyEmails() {
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (1, 'Иван', 'Ivan@Mail.ru'), "
+                + "(2, 'Двойник', 'ivan@mail.ru'), (3, 'Пётр', ' Petr@mail.ru')");
+
+        new ResourceDatabasePopulator(new FileSystemResource("db/manual/2026-10-normalize-user-emails.sql"))
+                .execute(dataSource);
+        migrate();
+
+        assertEquals(List.of("ivan@mail.ru", "duplicate-2.ivan@mail.ru", "petr@mail.ru"),
+                jdbc.queryForList("SELECT email FROM users ORDER BY id", String.class));
+    }
+
+    @Test
+    @DisplayName("Уникальный индекс не пускает адрес, отличающийся только регистром")
+    void schema_RejectsCaseInsensitiveDuplicate() {
+        migrate();
+        jdbc.update("INSERT INTO users (name, email) VALUES ('Иван', 'ivan@mail.ru')");
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbc.update("INSERT INTO users (name, email) VALUES ('Двойник', 'IVAN@mail.ru')"));
+    }
+
+    private void migrate() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("schema-h2.sql"))
+                .execute(dataSource);
+    }
+}